@@ -1,3 +1,5 @@
+import java.util.Arrays;
+
 /**
  * Your implementation of an ArrayDeque.
  *
@@ -15,16 +17,39 @@ public class ArrayDeque<T> {
      */
     public static final int INITIAL_CAPACITY = 11;
 
-    // Do not add new instance variables or modify existing ones.
+    /**
+     * The initial capacity of an ArrayDeque in power-of-two mode.
+     */
+    public static final int POWER_OF_TWO_INITIAL_CAPACITY = 16;
+
     private T[] backingArray;
     private int front;
     private int size;
+    private boolean autoShrink;
+    private final boolean powerOfTwo;
+    private int mask;
 
     /**
      * Constructs a new ArrayDeque.
      */
     public ArrayDeque() {
-        backingArray = (T[]) new Object[INITIAL_CAPACITY];
+        this(false);
+    }
+
+    /**
+     * Constructs a new ArrayDeque, optionally in power-of-two mode.
+     *
+     * In power-of-two mode the capacity is always a power of two, starting
+     * at POWER_OF_TWO_INITIAL_CAPACITY, so wrapping an index around the
+     * backing array is a single AND with the capacity minus one instead of
+     * the division in mod.
+     *
+     * @param powerOfTwo whether the capacity should always be a power of two
+     */
+    public ArrayDeque(boolean powerOfTwo) {
+        this.powerOfTwo = powerOfTwo;
+        backingArray = (T[]) new Object[initialCapacity()];
+        mask = backingArray.length - 1;
         size = 0;
     }
 
@@ -49,7 +74,7 @@ public class ArrayDeque<T> {
         if (size == backingArray.length) {
             resize();
         }
-        front = mod(front - 1, backingArray.length);
+        front = wrap(front - 1);
         backingArray[front] = data;
         size += 1;
     }
@@ -73,14 +98,15 @@ public class ArrayDeque<T> {
         if (size == backingArray.length) {
             resize();
         }
-        backingArray[size] = data;
+        backingArray[wrap(front + size)] = data;
         size += 1;
     }
 
     /**
      * Removes and returns the first element of the deque.
      *
-     * Do not grow or shrink the backing array.
+     * Do not grow the backing array, and only shrink it if auto-shrink is
+     * on.
      *
      * If the deque becomes empty as a result of this call, do not reset
      * front to 0. Rather, modify the front index as if the deque did not become
@@ -100,15 +126,17 @@ public class ArrayDeque<T> {
         }
         T removed = backingArray[front];
         backingArray[front] = null;
-        front = mod(front + 1, backingArray.length);
+        front = wrap(front + 1);
         size -= 1;
+        shrinkIfSparse();
         return removed;
     }
 
     /**
      * Removes and returns the last element of the deque.
      *
-     * Do not grow or shrink the backing array.
+     * Do not grow the backing array, and only shrink it if auto-shrink is
+     * on.
      *
      * If the deque becomes empty as a result of this call, do not reset
      * front to 0.
@@ -125,10 +153,11 @@ public class ArrayDeque<T> {
         if (size == 0) {
             throw new java.util.NoSuchElementException("Deque is empty. Can't remove last.");
         }
-        int back = mod(front + size - 1, backingArray.length);
+        int back = wrap(front + size - 1);
         T removed = backingArray[back];
         backingArray[back] = null;
         size -= 1;
+        shrinkIfSparse();
         return removed;
     }
 
@@ -159,8 +188,7 @@ public class ArrayDeque<T> {
         if (size == 0) {
             throw new java.util.NoSuchElementException("Deque is empty. Can't get last.");
         }
-        int back = (front + size - 1) % backingArray.length;
-        return backingArray[back];
+        return backingArray[wrap(front + size - 1)];
     }
 
     /**
@@ -220,6 +248,27 @@ public class ArrayDeque<T> {
         return newIndex >= 0 ? newIndex : newIndex + modulo;
     }
 
+    /**
+     * Wraps index, which is at most one lap outside the backing array, into
+     * it. In power-of-two mode this is a mask instead of a division.
+     *
+     * @param index the index to wrap
+     * @return the index in the backing array
+     */
+    private int wrap(int index) {
+        return powerOfTwo ? index & mask : mod(index, backingArray.length);
+    }
+
+    /**
+     * Returns the capacity the deque starts with and never auto-shrinks
+     * below.
+     *
+     * @return the initial capacity for this deque's mode
+     */
+    private int initialCapacity() {
+        return powerOfTwo ? POWER_OF_TWO_INITIAL_CAPACITY : INITIAL_CAPACITY;
+    }
+
     /**
      * Returns whether or not the list is empty.
      *
@@ -229,16 +278,85 @@ public class ArrayDeque<T> {
         return size == 0;
     }
 
+    /**
+     * Shrinks the backing array to exactly size elements, or 1 if the deque
+     * is empty, releasing the unused capacity. In power-of-two mode, size is
+     * rounded up to a power of two.
+     */
+    public void trimToSize() {
+        int length = Math.max(size, 1);
+        if (powerOfTwo && length > 1) {
+            length = Integer.highestOneBit(length - 1) << 1;
+        }
+        if (length < backingArray.length) {
+            resize(length);
+        }
+    }
+
+    /**
+     * Clears the deque but keeps its backing array, so that refilling it
+     * allocates nothing. This is linear in the capacity, since the whole
+     * backing array is nulled out.
+     */
+    public void clearRetainingCapacity() {
+        Arrays.fill(backingArray, null);
+        front = 0;
+        size = 0;
+    }
+
+    /**
+     * Turns automatic shrinking on or off. It is off by default, so the
+     * backing array never shrinks unless trimToSize is called.
+     *
+     * While it is on, any removal that leaves the deque at most a quarter
+     * full halves the backing array, but never below its initial capacity.
+     *
+     * @param autoShrink whether removals should shrink the backing array
+     */
+    public void setAutoShrink(boolean autoShrink) {
+        this.autoShrink = autoShrink;
+        shrinkIfSparse();
+    }
+
+    /**
+     * Halves the backing array, as many times as needed, while auto-shrink
+     * is on and the deque is at most a quarter full.
+     */
+    private void shrinkIfSparse() {
+        int length = backingArray.length;
+        int minimum = initialCapacity();
+        if (!autoShrink || size > length / 4 || length <= minimum) {
+            return;
+        }
+        // a bulk removal may leave room to halve more than once
+        while (size <= length / 4 && length > minimum) {
+            length = Math.max(length / 2, minimum);
+        }
+        resize(length);
+    }
+
     /**
      * Resizes the arraylist with length * 2.
      */
     private void resize() {
-        int newCap = backingArray.length * 2;
+        resize(backingArray.length * 2);
+    }
+
+    /**
+     * Copies the elements, in order, to the start of a new backing array of
+     * length newCap and resets front to 0. The elements are in at most two
+     * runs, from front to the end of the array and then from its start, so
+     * each run is copied in bulk.
+     *
+     * @param newCap length of the new backing array, at least size
+     */
+    private void resize(int newCap) {
         T[] newArr = (T[]) new Object[newCap];
-        for (int i = 0; i < size; i++) {
-            newArr[i] = backingArray[(front + i) % backingArray.length];
-        }
+        int firstRun = Math.min(size, backingArray.length - front);
+        System.arraycopy(backingArray, front, newArr, 0, firstRun);
+        System.arraycopy(backingArray, 0, newArr, firstRun, size - firstRun);
         backingArray = newArr;
+        mask = newCap - 1;
         front = 0;
     }
 }
@@ -5,8 +5,12 @@
  *
  */
 import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
-public class ArrayList<T> {
+public class ArrayList<T> implements Iterable<T> {
 
     /**
      * The initial capacity of the ArrayList.
@@ -15,9 +19,32 @@ public class ArrayList<T> {
      */
     public static final int INITIAL_CAPACITY = 9;
 
-    // Do not add new instance variables or modify existing ones.
+    /**
+     * The capacity past which CAPPED_LINEAR growth stops doubling and grows
+     * by this many elements at a time instead.
+     */
+    public static final int LINEAR_GROWTH_THRESHOLD = 1 << 20;
+
+    /**
+     * How the backing array grows when it is full.
+     *
+     * ONE_AND_A_HALF grows it by half its length, which wastes less memory
+     * than doubling at the cost of more frequent copies. DOUBLE doubles it.
+     * CAPPED_LINEAR doubles it until it reaches LINEAR_GROWTH_THRESHOLD, then
+     * adds LINEAR_GROWTH_THRESHOLD elements at a time, so very large lists
+     * never over-allocate by more than that.
+     */
+    public enum GrowthPolicy {
+        ONE_AND_A_HALF, DOUBLE, CAPPED_LINEAR
+    }
+
     private T[] backingArray;
+    private int front;
     private int size;
+    private final GrowthPolicy growthPolicy;
+    private final boolean circular;
+    private int modCount;
+    private boolean autoShrink;
 
     /**
      * Constructs a new ArrayList.
@@ -26,7 +53,43 @@ public class ArrayList<T> {
      * to cast an Object[] to a T[] to get the generic typing.
      */
     public ArrayList() {
+        this(GrowthPolicy.DOUBLE);
+    }
+
+    /**
+     * Constructs a new ArrayList whose backing array grows according to
+     * growthPolicy.
+     *
+     * @param growthPolicy how the backing array grows when it is full
+     * @throws java.lang.IllegalArgumentException if growthPolicy is null
+     */
+    public ArrayList(GrowthPolicy growthPolicy) {
+        this(growthPolicy, false);
+    }
+
+    /**
+     * Constructs a new ArrayList.
+     *
+     * If circular is true, the list is stored like an ArrayDeque: the
+     * elements start at index front of the backing array and wrap around its
+     * end. Adding to and removing from the front are then amortized O(1)
+     * instead of O(n), get stays O(1), and adding or removing in the middle
+     * shifts whichever side of index is shorter. When the elements wrap
+     * around, a middle add or remove first moves them back to the start of
+     * the backing array.
+     *
+     * @param growthPolicy how the backing array grows when it is full
+     * @param circular whether to store the list as a circular buffer
+     * @throws java.lang.IllegalArgumentException if growthPolicy is null
+     */
+    public ArrayList(GrowthPolicy growthPolicy, boolean circular) {
+        if (growthPolicy == null) {
+            throw new IllegalArgumentException("Growth policy can't be null.");
+        }
+        this.growthPolicy = growthPolicy;
+        this.circular = circular;
         backingArray = (T[]) new Object[INITIAL_CAPACITY];
+        front = 0;
         size = 0;
     }
 
@@ -36,6 +99,7 @@ public class ArrayList<T> {
      * Remember that this add may require elements to be shifted.
      *
      * Must be amortized O(1) for index size and O(n) for all other cases.
+     * In circular mode, also amortized O(1) for index 0.
      *
      * @param index the index at which to add the new element
      * @param data  the data to add at the specified index
@@ -50,19 +114,30 @@ public class ArrayList<T> {
             throw new IllegalArgumentException("Data can't be null");
         }
         if (size == backingArray.length) {               // if array is full, resize
-            resize();
+            resize(size + 1);
         }
-        if (index == 0) {                           // add to front
-            addToFront(data);
-        } else if (index == size) {                 // add to back
-            addToBack(data);
+        int length = backingArray.length;
+        if (circular && index == 0) {
+            front = front == 0 ? length - 1 : front - 1;
+            backingArray[front] = data;
+        } else if (index == size) {
+            backingArray[physicalIndex(size)] = data;
         } else {
-            for (int i = size; i >= index; i--) {   // shift data in array back to front
-                backingArray[i+1] = backingArray[i];
+            if (circular && front + size > length) {
+                relocate(length);
+            }
+            if (front > 0 && (index < size / 2 || front + size == length)) {
+                // shift data before index forward one spot
+                System.arraycopy(backingArray, front, backingArray, front - 1, index);
+                front -= 1;
+            } else {
+                // shift data after index back one spot
+                System.arraycopy(backingArray, front + index, backingArray, front + index + 1, size - index);
             }
-            backingArray[index] = data;                   // add data to front of list
-            size += 1;
+            backingArray[front + index] = data;
         }
+        size += 1;
+        modCount += 1;
     }
 
     /**
@@ -70,7 +145,7 @@ public class ArrayList<T> {
      *
      * Remember that this add may require elements to be shifted.
      *
-     * Must be O(n).
+     * Must be O(n), or amortized O(1) in circular mode.
      *
      * @param data the data to add to the front of the list
      * @throws java.lang.IllegalArgumentException if data is null
@@ -79,14 +154,7 @@ public class ArrayList<T> {
         if (data == null) {
             throw new IllegalArgumentException("Data can't be null");
         }
-        if (size == backingArray.length) {           // if array is full, resize
-            resize();
-        }
-        for (int i = size; i >= 0; i--) {           // shift data in array back to front
-            backingArray[i+1] = backingArray[i];
-        }
-        backingArray[0] = data;                      // add data to front of list
-        size += 1;
+        addAtIndex(0, data);
     }
 
     /**
@@ -102,10 +170,11 @@ public class ArrayList<T> {
             throw new IllegalArgumentException("Data can't be null");
         }
         if (size == backingArray.length) {
-            resize();
+            resize(size + 1);
         }
-        backingArray[size] = data;
+        backingArray[physicalIndex(size)] = data;
         size += 1;
+        modCount += 1;
     }
 
     /**
@@ -113,7 +182,8 @@ public class ArrayList<T> {
      *
      * Remember that this remove may require elements to be shifted.
      *
-     * Must be O(1) for index size - 1 and O(n) for all other cases.
+     * Must be O(1) for index size - 1 and O(n) for all other cases. In
+     * circular mode, also O(1) for index 0.
      *
      * @param index the index of the element to remove
      * @return the data formerly located at the specified index
@@ -124,19 +194,32 @@ public class ArrayList<T> {
             throw new IndexOutOfBoundsException("Index is < 0 or index >= size.");
         }
 
-        T removed = backingArray[index];                 // store data to be removed
+        int length = backingArray.length;
+        T removed = backingArray[physicalIndex(index)];  // store data to be removed
 
-        if (index == 0) {                           // remove from front
-            removeFromFront();
-        } else if (index == size-1) {                 // remove from back
-            removeFromBack();
+        if (circular && index == 0) {
+            backingArray[front] = null;
+            front = front == length - 1 ? 0 : front + 1;
+        } else if (index == size - 1) {
+            backingArray[physicalIndex(index)] = null;
         } else {
-            for (int i = index; i < size-1; i++) {   // shift data in array
-                backingArray[i] = backingArray[i + 1];
+            if (circular && front + size > length) {
+                relocate(length);
+            }
+            if (circular && index < size / 2) {
+                // shift data before index back one spot
+                System.arraycopy(backingArray, front, backingArray, front + 1, index);
+                backingArray[front] = null;
+                front += 1;
+            } else {
+                // shift data after index forward one spot
+                System.arraycopy(backingArray, front + index + 1, backingArray, front + index, size - index - 1);
+                backingArray[front + size - 1] = null;
             }
-            backingArray[size-1] = null;
-            size -= 1;
         }
+        size -= 1;
+        modCount += 1;
+        shrinkIfSparse();
         return removed;
     }
 
@@ -145,7 +228,7 @@ public class ArrayList<T> {
      *
      * Remember that this remove may require elements to be shifted.
      *
-     * Must be O(n).
+     * Must be O(n), or O(1) in circular mode.
      *
      * @return the data formerly located at the front of the list
      * @throws java.util.NoSuchElementException if the list is empty
@@ -154,15 +237,7 @@ public class ArrayList<T> {
         if (isEmpty()) {
             throw new NoSuchElementException("Array list is empty.");
         }
-
-        T removed = backingArray[0];                 // store data to be removed
-
-        for (int i = 1; i < size; i++) {            // shift data in array
-            backingArray[i - 1] = backingArray[i];
-        }
-        backingArray[size-1] = null;
-        size -= 1;
-        return removed;
+        return removeAtIndex(0);
     }
 
     /**
@@ -177,9 +252,12 @@ public class ArrayList<T> {
         if (isEmpty()) {
             throw new NoSuchElementException("Array list is empty.");
         }
-        T removed = backingArray[size-1];                 // store data to be removed
-        backingArray[size-1] = null;
+        int back = physicalIndex(size - 1);
+        T removed = backingArray[back];                 // store data to be removed
+        backingArray[back] = null;
         size -= 1;
+        modCount += 1;
+        shrinkIfSparse();
         return removed;
     }
 
@@ -196,7 +274,239 @@ public class ArrayList<T> {
         if (index < 0 || index >= size) {
             throw new IndexOutOfBoundsException("Index is < 0 or index >= size.");
         }
-        return backingArray[index];
+        return backingArray[physicalIndex(index)];
+    }
+
+    /**
+     * Adds every element of data to the back of the list, in order.
+     *
+     * @param data the elements to add
+     * @throws java.lang.IllegalArgumentException if data or any element of it
+     * is null
+     */
+    public void addAll(Collection<? extends T> data) {
+        addAll(size, data);
+    }
+
+    /**
+     * Adds every element of data at index, in order, shifting the elements
+     * after index back once by data.size() spots rather than once per
+     * element.
+     *
+     * Must be O(n + k), where k is the number of elements added.
+     *
+     * @param index the index at which to add the first new element
+     * @param data the elements to add
+     * @throws java.lang.IndexOutOfBoundsException if index < 0 or index > size
+     * @throws java.lang.IllegalArgumentException if data or any element of it
+     * is null
+     */
+    public void addAll(int index, Collection<? extends T> data) {
+        if (data == null) {
+            throw new IllegalArgumentException("Data can't be null");
+        }
+        insertAll(index, data.toArray());
+    }
+
+    /**
+     * Adds every element of data to the back of the list, in order.
+     *
+     * @param data the elements to add
+     * @throws java.lang.IllegalArgumentException if data or any element of it
+     * is null
+     */
+    public void addAll(T[] data) {
+        addAll(size, data);
+    }
+
+    /**
+     * Adds every element of data at index, in order, with a single shift of
+     * the elements after index. See addAll(int, Collection).
+     *
+     * @param index the index at which to add the first new element
+     * @param data the elements to add
+     * @throws java.lang.IndexOutOfBoundsException if index < 0 or index > size
+     * @throws java.lang.IllegalArgumentException if data or any element of it
+     * is null
+     */
+    public void addAll(int index, T[] data) {
+        if (data == null) {
+            throw new IllegalArgumentException("Data can't be null");
+        }
+        insertAll(index, data);
+    }
+
+    /**
+     * Removes the elements from index fromIndex, inclusive, to toIndex,
+     * exclusive, closing the gap with a single shift.
+     *
+     * Must be O(n).
+     *
+     * @param fromIndex index of the first element to remove
+     * @param toIndex index after the last element to remove
+     * @throws java.lang.IndexOutOfBoundsException if fromIndex < 0,
+     * toIndex > size, or fromIndex > toIndex
+     */
+    public void removeRange(int fromIndex, int toIndex) {
+        if (fromIndex < 0 || toIndex > size || fromIndex > toIndex) {
+            throw new IndexOutOfBoundsException("Range is outside the list.");
+        }
+        if (fromIndex == toIndex) {
+            return;
+        }
+        makeContiguous();
+        int removed = toIndex - fromIndex;
+        System.arraycopy(backingArray, front + toIndex, backingArray, front + fromIndex, size - toIndex);
+        Arrays.fill(backingArray, front + size - removed, front + size, null);
+        size -= removed;
+        modCount += 1;
+        shrinkIfSparse();
+    }
+
+    /**
+     * Removes every element that matches filter, in a single pass that
+     * moves each kept element at most once.
+     *
+     * Must be O(n).
+     *
+     * @param filter returns true for the elements to remove
+     * @return true if any element was removed
+     * @throws java.lang.IllegalArgumentException if filter is null
+     */
+    public boolean removeIf(Predicate<? super T> filter) {
+        if (filter == null) {
+            throw new IllegalArgumentException("Filter can't be null.");
+        }
+        makeContiguous();
+        int end = front + size;
+        int read = front;
+        int write = front;
+        try {
+            for (; read < end; read++) {
+                T data = backingArray[read];
+                if (!filter.test(data)) {
+                    backingArray[write] = data;
+                    write += 1;
+                }
+            }
+        } finally {
+            // if filter threw, keep the elements it didn't get to
+            System.arraycopy(backingArray, read, backingArray, write, end - read);
+            write += end - read;
+            Arrays.fill(backingArray, write, end, null);
+            size = write - front;
+            if (write != end) {
+                modCount += 1;
+            }
+        }
+        shrinkIfSparse();
+        return write != end;
+    }
+
+    /**
+     * Returns a view of the elements from index fromIndex, inclusive, to
+     * toIndex, exclusive. Nothing is copied: the view reads from and writes
+     * through to this list, so for example subList(from, to).clear() removes
+     * the range with a single shift. The view supports get, add and remove,
+     * but not set, since this list has no set.
+     *
+     * Once this list is structurally changed other than through the view,
+     * using the view throws a ConcurrentModificationException.
+     *
+     * @param fromIndex index of the first element of the view
+     * @param toIndex index after the last element of the view
+     * @return a view of the range
+     * @throws java.lang.IndexOutOfBoundsException if fromIndex < 0,
+     * toIndex > size, or fromIndex > toIndex
+     */
+    public List<T> subList(int fromIndex, int toIndex) {
+        if (fromIndex < 0 || toIndex > size || fromIndex > toIndex) {
+            throw new IndexOutOfBoundsException("Range is outside the list.");
+        }
+        return new SubList(fromIndex, toIndex - fromIndex);
+    }
+
+    /**
+     * Inserts the elements of data at index with one shift and one copy.
+     *
+     * @param index the index at which to add the first new element
+     * @param data the elements to add
+     */
+    private void insertAll(int index, Object[] data) {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("Index is < 0 or index > size.");
+        }
+        for (Object element : data) {
+            if (element == null) {
+                throw new IllegalArgumentException("Data can't be null");
+            }
+        }
+        int count = data.length;
+        if (size + count > backingArray.length) {
+            resize(size + count);
+        } else if (front + size + count > backingArray.length) {
+            relocate(backingArray.length);
+        }
+        System.arraycopy(backingArray, front + index, backingArray, front + index + count, size - index);
+        System.arraycopy(data, 0, backingArray, front + index, count);
+        size += count;
+        modCount += 1;
+    }
+
+    /**
+     * In circular mode, moves the elements back to the start of the backing
+     * array if they wrap around its end, so they can be shifted with single
+     * copies.
+     */
+    private void makeContiguous() {
+        if (front + size > backingArray.length) {
+            relocate(backingArray.length);
+        }
+    }
+
+    /**
+     * Returns an iterator over the list, in order. The iterator fails fast:
+     * if the list is structurally changed after the iterator is created,
+     * other than through the iterator's own remove, the iterator throws a
+     * java.util.ConcurrentModificationException.
+     *
+     * @return an iterator over the list
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return new Itr();
+    }
+
+    /**
+     * Returns a spliterator over the list that splits the index range evenly
+     * in half. It reports SIZED, SUBSIZED, ORDERED and NONNULL, and throws a
+     * java.util.ConcurrentModificationException after traversal if the list
+     * was structurally changed.
+     *
+     * @return a spliterator over the list
+     */
+    @Override
+    public Spliterator<T> spliterator() {
+        return new Splitr(0, size, modCount);
+    }
+
+    /**
+     * Returns a sequential stream over the list.
+     *
+     * @return a stream of the list's elements, in order
+     */
+    public Stream<T> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    /**
+     * Returns a parallel stream over the list, which splits the list into
+     * index ranges processed on the common fork-join pool.
+     *
+     * @return a parallel stream of the list's elements
+     */
+    public Stream<T> parallelStream() {
+        return StreamSupport.stream(spliterator(), true);
     }
 
     /**
@@ -224,25 +534,336 @@ public class ArrayList<T> {
      */
     public void clear() {
         backingArray = (T[]) new Object[INITIAL_CAPACITY];
+        front = 0;
         size = 0;
+        modCount += 1;
     }
 
     /**
-     * Resizes the arraylist with length * 2.
+     * Clears the list but keeps its backing array, so that refilling it
+     * allocates nothing. Unlike clear, this is O(n), since every element is
+     * nulled out.
      */
-    private void resize() {
-        int newCap = backingArray.length * 2;
-        T[] newArr = (T[]) new Object[newCap];
+    public void clearRetainingCapacity() {
+        makeContiguous();
+        Arrays.fill(backingArray, front, front + size, null);
+        front = 0;
+        size = 0;
+        modCount += 1;
+    }
+
+    /**
+     * Turns automatic shrinking on or off. It is off by default, so the
+     * backing array never shrinks unless trimToSize is called.
+     *
+     * While it is on, any removal that leaves the list at most a quarter
+     * full halves the backing array, but never below INITIAL_CAPACITY. Since
+     * the array then is half full, it takes many adds or removes before the
+     * next resize either way.
+     *
+     * @param autoShrink whether removals should shrink the backing array
+     */
+    public void setAutoShrink(boolean autoShrink) {
+        this.autoShrink = autoShrink;
+        shrinkIfSparse();
+    }
 
-        for (int i = 0; i < size; i++) {
-            newArr[i] = backingArray[i];
+    /**
+     * Grows the backing array, at most once, so that it can hold
+     * minCapacity elements without resizing again. Never shrinks it.
+     *
+     * @param minCapacity the number of elements the list should be able to
+     * hold
+     */
+    public void ensureCapacity(int minCapacity) {
+        if (minCapacity > backingArray.length) {
+            resize(minCapacity);
         }
+    }
 
+    /**
+     * Shrinks the backing array to exactly size elements, releasing the
+     * unused capacity. The next add will grow it again.
+     */
+    public void trimToSize() {
+        if (size < backingArray.length) {
+            relocate(size);
+        }
+    }
+
+    /**
+     * Resizes the backing array according to the growth policy, or to
+     * minCapacity if the policy would not grow it that far.
+     *
+     * @param minCapacity the smallest capacity the list needs
+     */
+    private void resize(int minCapacity) {
+        int length = backingArray.length;
+        long grown;
+        if (growthPolicy == GrowthPolicy.ONE_AND_A_HALF) {
+            grown = length + (length >> 1);
+        } else if (growthPolicy == GrowthPolicy.CAPPED_LINEAR && length >= LINEAR_GROWTH_THRESHOLD) {
+            grown = (long) length + LINEAR_GROWTH_THRESHOLD;
+        } else {
+            grown = 2L * length;
+        }
+        int newCap = (int) Math.min(Integer.MAX_VALUE - 8, Math.max(grown, minCapacity));
+        relocate(newCap);
+    }
+
+    /**
+     * Halves the backing array, as many times as needed, while auto-shrink
+     * is on and the list is at most a quarter full.
+     */
+    private void shrinkIfSparse() {
+        int length = backingArray.length;
+        if (!autoShrink || size > length / 4 || length <= INITIAL_CAPACITY) {
+            return;
+        }
+        // a bulk removal may leave room to halve more than once
+        while (size <= length / 4 && length > INITIAL_CAPACITY) {
+            length = Math.max(length / 2, INITIAL_CAPACITY);
+        }
+        relocate(length);
+    }
+
+    /**
+     * Copies the elements, in order, to the start of a new backing array of
+     * the given length and resets front to 0.
+     *
+     * @param length length of the new backing array, at least size
+     */
+    private void relocate(int length) {
+        T[] newArr = (T[]) new Object[length];
+        int firstPart = Math.min(size, backingArray.length - front);
+        System.arraycopy(backingArray, front, newArr, 0, firstPart);
+        System.arraycopy(backingArray, 0, newArr, firstPart, size - firstPart);
         backingArray = newArr;
+        front = 0;
+    }
+
+    /**
+     * Returns the slot of the backing array holding the element at index.
+     * Outside circular mode front is always 0, so this is just index.
+     *
+     * @param index index into the list, from 0 to size
+     * @return index into the backing array
+     */
+    private int physicalIndex(int index) {
+        int physical = front + index;
+        return physical >= backingArray.length ? physical - backingArray.length : physical;
+    }
+
+    /**
+     * A view of a range of the list that reads from and writes through to it.
+     */
+    private final class SubList extends AbstractList<T> {
+        private final int offset;
+        private int length;
+        private int expectedModCount;
+
+        /**
+         * Creates a view of the length elements starting at offset.
+         *
+         * @param offset index of the first element of the view
+         * @param length number of elements in the view
+         */
+        SubList(int offset, int length) {
+            this.offset = offset;
+            this.length = length;
+            expectedModCount = ArrayList.this.modCount;
+        }
+
+        @Override
+        public T get(int index) {
+            checkForComodification();
+            if (index < 0 || index >= length) {
+                throw new IndexOutOfBoundsException("Index is < 0 or index >= size.");
+            }
+            return ArrayList.this.get(offset + index);
+        }
+
+        @Override
+        public void add(int index, T data) {
+            checkForComodification();
+            if (index < 0 || index > length) {
+                throw new IndexOutOfBoundsException("Index is < 0 or index > size.");
+            }
+            addAtIndex(offset + index, data);
+            length += 1;
+            modCount += 1;
+            expectedModCount = ArrayList.this.modCount;
+        }
+
+        @Override
+        public T remove(int index) {
+            checkForComodification();
+            if (index < 0 || index >= length) {
+                throw new IndexOutOfBoundsException("Index is < 0 or index >= size.");
+            }
+            T removed = removeAtIndex(offset + index);
+            length -= 1;
+            modCount += 1;
+            expectedModCount = ArrayList.this.modCount;
+            return removed;
+        }
+
+        @Override
+        protected void removeRange(int fromIndex, int toIndex) {
+            checkForComodification();
+            ArrayList.this.removeRange(offset + fromIndex, offset + toIndex);
+            length -= toIndex - fromIndex;
+            modCount += 1;
+            expectedModCount = ArrayList.this.modCount;
+        }
+
+        @Override
+        public int size() {
+            checkForComodification();
+            return length;
+        }
+
+        /**
+         * Throws if the list has been structurally changed other than
+         * through this view.
+         */
+        private void checkForComodification() {
+            if (ArrayList.this.modCount != expectedModCount) {
+                throw new ConcurrentModificationException("List changed outside the sub list.");
+            }
+        }
+    }
+
+    /**
+     * Walks the list in order. Fails fast: once the list is structurally
+     * changed other than through remove, next throws a
+     * ConcurrentModificationException.
+     */
+    private final class Itr implements Iterator<T> {
+        private int cursor;
+        private int lastReturned = -1;
+        private int expectedModCount = modCount;
+
+        @Override
+        public boolean hasNext() {
+            return cursor < size;
+        }
+
+        @Override
+        public T next() {
+            checkForComodification();
+            if (cursor >= size) {
+                throw new NoSuchElementException("No more elements.");
+            }
+            lastReturned = cursor;
+            cursor += 1;
+            return backingArray[physicalIndex(lastReturned)];
+        }
+
+        @Override
+        public void remove() {
+            if (lastReturned < 0) {
+                throw new IllegalStateException("next hasn't been called since the last remove.");
+            }
+            checkForComodification();
+            removeAtIndex(lastReturned);
+            cursor = lastReturned;
+            lastReturned = -1;
+            expectedModCount = modCount;
+        }
+
+        /**
+         * Throws if the list has been structurally changed other than
+         * through this iterator.
+         */
+        private void checkForComodification() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException("List changed during iteration.");
+            }
+        }
+    }
+
+    /**
+     * Splits a range of the list's indices in half for parallel streams.
+     * Checks for structural changes once the range has been traversed.
+     */
+    private final class Splitr implements Spliterator<T> {
+        private int index;
+        private final int fence;
+        private final int expectedModCount;
+
+        /**
+         * Creates a spliterator over indices [origin, fence) of the list.
+         *
+         * @param origin first index, inclusive
+         * @param fence last index, exclusive
+         * @param expectedModCount modCount of the list when traversal began
+         */
+        Splitr(int origin, int fence, int expectedModCount) {
+            this.index = origin;
+            this.fence = fence;
+            this.expectedModCount = expectedModCount;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            if (action == null) {
+                throw new NullPointerException("Action can't be null.");
+            }
+            if (index >= fence) {
+                return false;
+            }
+            T data = backingArray[physicalIndex(index)];
+            index += 1;
+            action.accept(data);
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException("List changed during traversal.");
+            }
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super T> action) {
+            if (action == null) {
+                throw new NullPointerException("Action can't be null.");
+            }
+            T[] array = backingArray;
+            int length = array.length;
+            int physical = physicalIndex(index);
+            for (; index < fence; index++) {
+                action.accept(array[physical]);
+                physical = physical + 1 == length ? 0 : physical + 1;
+            }
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException("List changed during traversal.");
+            }
+        }
+
+        @Override
+        public Spliterator<T> trySplit() {
+            int mid = (index + fence) >>> 1;
+            if (mid <= index) {
+                return null;
+            }
+            Spliterator<T> prefix = new Splitr(index, mid, expectedModCount);
+            index = mid;
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            return fence - index;
+        }
+
+        @Override
+        public int characteristics() {
+            return Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED | Spliterator.NONNULL;
+        }
     }
 
     /**
-     * Returns the backing array of the list.
+     * Returns the backing array of the list. In circular mode the elements
+     * start at front and may wrap around the end of the array.
      *
      * For grading purposes only. You shouldn't need to use this method since
      * you have direct access to the variable.
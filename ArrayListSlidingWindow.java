@@ -0,0 +1,54 @@
+/**
+ * Times a sliding window over an ArrayList: the list is filled with 100,000
+ * elements, then each of 100,000 steps adds one element to the back and
+ * removes one from the front. Runs with and without circular-buffer mode,
+ * a few rounds each so the later rounds are JIT-compiled.
+ *
+ * Run with: java ArrayListSlidingWindow
+ *
+ * @author Madison Schlaff
+ * @version 1.0
+ *
+ */
+public class ArrayListSlidingWindow {
+
+    private static final int WINDOW = 100000;
+    private static final int STEPS = 100000;
+    private static final int ROUNDS = 3;
+
+    /**
+     * Prints the time each round of the sliding window takes in each mode.
+     *
+     * @param args unused
+     */
+    public static void main(String[] args) {
+        for (int round = 1; round <= ROUNDS; round++) {
+            System.out.println("round " + round + ": "
+                    + slide(false) / 1000000 + " ms without circular mode, "
+                    + slide(true) / 1000000 + " ms with circular mode");
+        }
+    }
+
+    /**
+     * Fills a list to the window size, then times the add and remove steps.
+     *
+     * @param circular whether the list uses circular-buffer mode
+     * @return the time the steps took, in nanoseconds
+     */
+    private static long slide(boolean circular) {
+        ArrayList<Integer> list = new ArrayList<>(ArrayList.GrowthPolicy.DOUBLE, circular);
+        for (int i = 0; i < WINDOW; i++) {
+            list.addToBack(i);
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < STEPS; i++) {
+            list.addToBack(WINDOW + i);
+            list.removeFromFront();
+        }
+        long elapsed = System.nanoTime() - start;
+        if (list.size() != WINDOW || list.get(0) != STEPS) {
+            throw new IllegalStateException("The window slid incorrectly.");
+        }
+        return elapsed;
+    }
+}
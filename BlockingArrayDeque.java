@@ -0,0 +1,467 @@
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * A bounded, thread-safe deque whose consumers wait while it is empty and
+ * whose producers wait while it is full, for producer/consumer work queues.
+ *
+ * The elements are kept in a power-of-two ArrayDeque guarded by one
+ * ReentrantLock, with a notEmpty and a notFull Condition to wait on. Waiting
+ * on a Condition parks the thread without pinning a virtual thread to its
+ * carrier the way a synchronized block would.
+ *
+ * Each end has four ways to add or remove: put and take wait as long as
+ * needed, offer and poll return at once, and the timed offer and poll wait
+ * up to a timeout. drainTo removes a batch under one lock acquisition and
+ * wakes only as many producers as it freed slots for.
+ *
+ * @author Madison Schlaff
+ * @version 1.0
+ *
+ */
+public class BlockingArrayDeque<T> {
+
+    private final ArrayDeque<T> deque = new ArrayDeque<>(true);
+    private final int capacity;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final Condition notFull = lock.newCondition();
+
+    /**
+     * Constructs a new BlockingArrayDeque with no practical bound.
+     */
+    public BlockingArrayDeque() {
+        this(Integer.MAX_VALUE);
+    }
+
+    /**
+     * Constructs a new BlockingArrayDeque that holds at most capacity
+     * elements.
+     *
+     * @param capacity the most elements the deque can hold
+     * @throws java.lang.IllegalArgumentException if capacity is not positive
+     */
+    public BlockingArrayDeque(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive.");
+        }
+        this.capacity = capacity;
+    }
+
+    /**
+     * Adds the element to the front of the deque, waiting for room if it is
+     * full.
+     *
+     * @param data the data to add
+     * @throws java.lang.IllegalArgumentException if data is null
+     * @throws java.lang.InterruptedException if interrupted while waiting
+     */
+    public void putFirst(T data) throws InterruptedException {
+        checkData(data);
+        lock.lockInterruptibly();
+        try {
+            while (deque.size() == capacity) {
+                notFull.await();
+            }
+            addFirst(data);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Adds the element to the back of the deque, waiting for room if it is
+     * full.
+     *
+     * @param data the data to add
+     * @throws java.lang.IllegalArgumentException if data is null
+     * @throws java.lang.InterruptedException if interrupted while waiting
+     */
+    public void putLast(T data) throws InterruptedException {
+        checkData(data);
+        lock.lockInterruptibly();
+        try {
+            while (deque.size() == capacity) {
+                notFull.await();
+            }
+            addLast(data);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Adds the element to the front of the deque if there is room.
+     *
+     * @param data the data to add
+     * @return true if the element was added, false if the deque was full
+     * @throws java.lang.IllegalArgumentException if data is null
+     */
+    public boolean offerFirst(T data) {
+        checkData(data);
+        lock.lock();
+        try {
+            if (deque.size() == capacity) {
+                return false;
+            }
+            addFirst(data);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Adds the element to the back of the deque if there is room.
+     *
+     * @param data the data to add
+     * @return true if the element was added, false if the deque was full
+     * @throws java.lang.IllegalArgumentException if data is null
+     */
+    public boolean offerLast(T data) {
+        checkData(data);
+        lock.lock();
+        try {
+            if (deque.size() == capacity) {
+                return false;
+            }
+            addLast(data);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Adds the element to the front of the deque, waiting up to timeout for
+     * room if it is full.
+     *
+     * @param data the data to add
+     * @param timeout how long to wait, in units of unit
+     * @param unit the unit of timeout
+     * @return true if the element was added, false if time ran out first
+     * @throws java.lang.IllegalArgumentException if data or unit is null
+     * @throws java.lang.InterruptedException if interrupted while waiting
+     */
+    public boolean offerFirst(T data, long timeout, TimeUnit unit) throws InterruptedException {
+        checkData(data);
+        long nanos = toNanos(timeout, unit);
+        lock.lockInterruptibly();
+        try {
+            while (deque.size() == capacity) {
+                if (nanos <= 0) {
+                    return false;
+                }
+                nanos = notFull.awaitNanos(nanos);
+            }
+            addFirst(data);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Adds the element to the back of the deque, waiting up to timeout for
+     * room if it is full.
+     *
+     * @param data the data to add
+     * @param timeout how long to wait, in units of unit
+     * @param unit the unit of timeout
+     * @return true if the element was added, false if time ran out first
+     * @throws java.lang.IllegalArgumentException if data or unit is null
+     * @throws java.lang.InterruptedException if interrupted while waiting
+     */
+    public boolean offerLast(T data, long timeout, TimeUnit unit) throws InterruptedException {
+        checkData(data);
+        long nanos = toNanos(timeout, unit);
+        lock.lockInterruptibly();
+        try {
+            while (deque.size() == capacity) {
+                if (nanos <= 0) {
+                    return false;
+                }
+                nanos = notFull.awaitNanos(nanos);
+            }
+            addLast(data);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Removes and returns the first element of the deque, waiting for one if
+     * it is empty.
+     *
+     * @return the data formerly located at the front of the deque
+     * @throws java.lang.InterruptedException if interrupted while waiting
+     */
+    public T takeFirst() throws InterruptedException {
+        lock.lockInterruptibly();
+        try {
+            while (deque.isEmpty()) {
+                notEmpty.await();
+            }
+            return removeFirst();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Removes and returns the last element of the deque, waiting for one if
+     * it is empty.
+     *
+     * @return the data formerly located at the back of the deque
+     * @throws java.lang.InterruptedException if interrupted while waiting
+     */
+    public T takeLast() throws InterruptedException {
+        lock.lockInterruptibly();
+        try {
+            while (deque.isEmpty()) {
+                notEmpty.await();
+            }
+            return removeLast();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Removes and returns the first element of the deque if there is one.
+     *
+     * @return the data formerly located at the front of the deque, or null if
+     * the deque was empty
+     */
+    public T pollFirst() {
+        lock.lock();
+        try {
+            return deque.isEmpty() ? null : removeFirst();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Removes and returns the last element of the deque if there is one.
+     *
+     * @return the data formerly located at the back of the deque, or null if
+     * the deque was empty
+     */
+    public T pollLast() {
+        lock.lock();
+        try {
+            return deque.isEmpty() ? null : removeLast();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Removes and returns the first element of the deque, waiting up to
+     * timeout for one if it is empty.
+     *
+     * @param timeout how long to wait, in units of unit
+     * @param unit the unit of timeout
+     * @return the data formerly located at the front of the deque, or null if
+     * time ran out first
+     * @throws java.lang.IllegalArgumentException if unit is null
+     * @throws java.lang.InterruptedException if interrupted while waiting
+     */
+    public T pollFirst(long timeout, TimeUnit unit) throws InterruptedException {
+        long nanos = toNanos(timeout, unit);
+        lock.lockInterruptibly();
+        try {
+            while (deque.isEmpty()) {
+                if (nanos <= 0) {
+                    return null;
+                }
+                nanos = notEmpty.awaitNanos(nanos);
+            }
+            return removeFirst();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Removes and returns the last element of the deque, waiting up to
+     * timeout for one if it is empty.
+     *
+     * @param timeout how long to wait, in units of unit
+     * @param unit the unit of timeout
+     * @return the data formerly located at the back of the deque, or null if
+     * time ran out first
+     * @throws java.lang.IllegalArgumentException if unit is null
+     * @throws java.lang.InterruptedException if interrupted while waiting
+     */
+    public T pollLast(long timeout, TimeUnit unit) throws InterruptedException {
+        long nanos = toNanos(timeout, unit);
+        lock.lockInterruptibly();
+        try {
+            while (deque.isEmpty()) {
+                if (nanos <= 0) {
+                    return null;
+                }
+                nanos = notEmpty.awaitNanos(nanos);
+            }
+            return removeLast();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Removes up to limit elements from the front of the deque and passes
+     * them to action, in order, without waiting. The whole batch is removed
+     * under one lock acquisition, and producers waiting for room are woken
+     * once per freed slot rather than once per element.
+     *
+     * The action runs while the lock is held, so it should be quick and
+     * must not use this deque.
+     *
+     * @param action receives each removed element
+     * @param limit the most elements to remove
+     * @return the number of elements removed
+     * @throws java.lang.IllegalArgumentException if action is null or limit
+     * is negative
+     */
+    public int drainTo(Consumer<? super T> action, int limit) {
+        if (action == null || limit < 0) {
+            throw new IllegalArgumentException("Action is null or limit is negative.");
+        }
+        lock.lock();
+        int drained = 0;
+        try {
+            while (drained < limit && !deque.isEmpty()) {
+                T data = deque.removeFirst();
+                drained += 1;
+                action.accept(data);
+            }
+        } finally {
+            // wake producers for what was removed, even if action threw
+            for (int i = 0; i < drained && lock.hasWaiters(notFull); i++) {
+                notFull.signal();
+            }
+            lock.unlock();
+        }
+        return drained;
+    }
+
+    /**
+     * Returns the number of elements in the deque.
+     *
+     * @return the size of the deque
+     */
+    public int size() {
+        lock.lock();
+        try {
+            return deque.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns whether or not the deque is empty.
+     *
+     * @return true if empty, false otherwise
+     */
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Returns how many more elements can be added before the deque is full.
+     *
+     * @return the remaining capacity of the deque
+     */
+    public int remainingCapacity() {
+        return capacity - size();
+    }
+
+    /**
+     * Returns the most elements the deque can hold.
+     *
+     * @return the capacity of the deque
+     */
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * Adds to the front of the deque and wakes one waiting consumer. The
+     * lock must be held and the deque must not be full.
+     *
+     * @param data the data to add
+     */
+    private void addFirst(T data) {
+        deque.addFirst(data);
+        notEmpty.signal();
+    }
+
+    /**
+     * Adds to the back of the deque and wakes one waiting consumer. The lock
+     * must be held and the deque must not be full.
+     *
+     * @param data the data to add
+     */
+    private void addLast(T data) {
+        deque.addLast(data);
+        notEmpty.signal();
+    }
+
+    /**
+     * Removes from the front of the deque and wakes one waiting producer.
+     * The lock must be held and the deque must not be empty.
+     *
+     * @return the removed element
+     */
+    private T removeFirst() {
+        T removed = deque.removeFirst();
+        notFull.signal();
+        return removed;
+    }
+
+    /**
+     * Removes from the back of the deque and wakes one waiting producer. The
+     * lock must be held and the deque must not be empty.
+     *
+     * @return the removed element
+     */
+    private T removeLast() {
+        T removed = deque.removeLast();
+        notFull.signal();
+        return removed;
+    }
+
+    /**
+     * Throws if data is null.
+     *
+     * @param data the data to check
+     * @throws java.lang.IllegalArgumentException if data is null
+     */
+    private static void checkData(Object data) {
+        if (data == null) {
+            throw new IllegalArgumentException("Data can't be null.");
+        }
+    }
+
+    /**
+     * Converts a timeout to nanoseconds.
+     *
+     * @param timeout the timeout, in units of unit
+     * @param unit the unit of timeout
+     * @return the timeout in nanoseconds
+     * @throws java.lang.IllegalArgumentException if unit is null
+     */
+    private static long toNanos(long timeout, TimeUnit unit) {
+        if (unit == null) {
+            throw new IllegalArgumentException("Unit can't be null.");
+        }
+        return unit.toNanos(timeout);
+    }
+}
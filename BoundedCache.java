@@ -0,0 +1,778 @@
+import java.util.NoSuchElementException;
+import java.util.function.Function;
+import java.util.function.ToIntBiFunction;
+
+/**
+ * A size-bounded cache built on the slot layout of
+ * FlatQuadraticProbingHashMap.
+ *
+ * Keys, values and slot states live in parallel arrays and collisions are
+ * resolved with quadratic probing. Each entry has a weight (1 by default) and
+ * once the total weight exceeds the maximum, entries are evicted according to
+ * the cache's EvictionPolicy. The table grows like the map's does, but the
+ * maximum keeps the number of live entries, and so the table, bounded.
+ *
+ * Hits, misses and evictions are counted for monitoring.
+ *
+ * Not thread-safe.
+ *
+ * @author Madison Schlaff
+ * @version 1.0
+ *
+ */
+public class BoundedCache<K, V> {
+
+    /**
+     * How the cache picks entries to evict.
+     *
+     * CLOCK keeps a referenced bit in each slot's state, set on every hit,
+     * and sweeps a hand over the table evicting the first entry whose bit is
+     * clear (clearing bits as it passes). It needs no extra memory per entry.
+     *
+     * LRU keeps entries in a doubly linked list, threaded through int arrays
+     * parallel to the slots, and evicts the least recently used one.
+     *
+     * W_TINY_LFU puts new entries in a small LRU window. When the window
+     * overflows, its least recently used entry only replaces the main
+     * region's least recently used entry if a count-min sketch says it has
+     * been accessed more often, so one-off keys can't flush out popular ones.
+     */
+    public enum EvictionPolicy {
+        CLOCK, LRU, W_TINY_LFU
+    }
+
+    /**
+     * The initial capacity of the table.
+     */
+    private static final int INITIAL_CAPACITY = 13;
+
+    /**
+     * The max load factor of the table, counting removed slots.
+     */
+    private static final double MAX_LOAD_FACTOR = 0.67;
+
+    /**
+     * Bits of the slot state. A slot with no bits set is empty.
+     */
+    private static final byte LIVE = 1;
+    private static final byte REMOVED = 2;
+    private static final byte REFERENCED = 4;
+    private static final byte IN_WINDOW = 8;
+
+    /**
+     * Marks the end of a linked list.
+     */
+    private static final int NONE = -1;
+
+    private final EvictionPolicy policy;
+    private final ToIntBiFunction<? super K, ? super V> weigher;
+    private final long maximumWeight;
+    private final long maximumWindowWeight;
+    private final FrequencySketch sketch;
+
+    private K[] keys;
+    private V[] values;
+    private byte[] states;
+    private int[] weights;
+    private int[] previous;
+    private int[] next;
+    private int size;
+    private int tombstones;
+    private long weight;
+    private long windowWeight;
+    private int windowHead = NONE;
+    private int windowTail = NONE;
+    private int mainHead = NONE;
+    private int mainTail = NONE;
+    private int clockHand;
+
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    /**
+     * Constructs a new BoundedCache that holds at most maximumSize entries.
+     *
+     * @param maximumSize the most entries the cache may hold
+     * @param policy how entries are chosen for eviction
+     * @throws java.lang.IllegalArgumentException if maximumSize is not
+     * positive or policy is null
+     */
+    public BoundedCache(int maximumSize, EvictionPolicy policy) {
+        this(maximumSize, null, policy);
+    }
+
+    /**
+     * Constructs a new BoundedCache whose entries' weights add up to at most
+     * maximumWeight. A null weigher gives every entry a weight of 1.
+     *
+     * @param maximumWeight the most total weight the cache may hold
+     * @param weigher computes the weight of an entry, which must not be
+     * negative
+     * @param policy how entries are chosen for eviction
+     * @throws java.lang.IllegalArgumentException if maximumWeight is not
+     * positive or policy is null
+     */
+    public BoundedCache(long maximumWeight, ToIntBiFunction<? super K, ? super V> weigher, EvictionPolicy policy) {
+        if (maximumWeight <= 0) {
+            throw new IllegalArgumentException("Maximum weight must be positive.");
+        }
+        if (policy == null) {
+            throw new IllegalArgumentException("Policy can't be null.");
+        }
+        this.maximumWeight = maximumWeight;
+        this.weigher = weigher;
+        this.policy = policy;
+        maximumWindowWeight = Math.max(1, maximumWeight / 100);
+        sketch = policy == EvictionPolicy.W_TINY_LFU ? new FrequencySketch(maximumWeight) : null;
+        allocate(INITIAL_CAPACITY);
+    }
+
+    /**
+     * Returns the value cached for key, or null if there is none. Counts as a
+     * hit or a miss.
+     *
+     * @param key the key to look up
+     * @return the cached value, or null
+     * @throws java.lang.IllegalArgumentException if key is null
+     */
+    public V getIfPresent(K key) {
+        if (key == null) {
+            throw new IllegalArgumentException("Key can't be null.");
+        }
+        int hash = key.hashCode();
+        record(hash);
+        int index = indexOf(key, hash);
+        if (index == NONE) {
+            misses += 1;
+            return null;
+        }
+        hits += 1;
+        touch(index);
+        return values[index];
+    }
+
+    /**
+     * Returns the value cached for key, loading and caching it with loader
+     * on a miss. If loader returns null nothing is cached and null is
+     * returned.
+     *
+     * @param key the key to look up
+     * @param loader computes the value for a missing key
+     * @return the cached or newly loaded value
+     * @throws java.lang.IllegalArgumentException if key or loader is null
+     */
+    public V computeIfAbsent(K key, Function<? super K, ? extends V> loader) {
+        if (key == null || loader == null) {
+            throw new IllegalArgumentException("Key or loader is null.");
+        }
+        int hash = key.hashCode();
+        record(hash);
+        int index = indexOf(key, hash);
+        if (index != NONE) {
+            hits += 1;
+            touch(index);
+            return values[index];
+        }
+        misses += 1;
+        V value = loader.apply(key);
+        if (value != null) {
+            insert(key, hash, value);
+        }
+        return value;
+    }
+
+    /**
+     * Caches value for key, replacing any value already cached, and evicts
+     * entries if the cache is now over its maximum.
+     *
+     * @param key the key to cache
+     * @param value the value to cache
+     * @return null if the key was not already cached. If it was, return the
+     * old value associated with it
+     * @throws java.lang.IllegalArgumentException if key or value is null
+     */
+    public V put(K key, V value) {
+        if (value == null || key == null) {
+            throw new IllegalArgumentException("Key is null or value is null.");
+        }
+        int hash = key.hashCode();
+        record(hash);
+        int index = indexOf(key, hash);
+        if (index == NONE) {
+            insert(key, hash, value);
+            return null;
+        }
+        V old = values[index];
+        int newWeight = weigh(key, value);
+        weight += newWeight - weights[index];
+        if ((states[index] & IN_WINDOW) != 0) {
+            windowWeight += newWeight - weights[index];
+        }
+        weights[index] = newWeight;
+        values[index] = value;
+        touch(index);
+        evict();
+        return old;
+    }
+
+    /**
+     * Removes the entry for key.
+     *
+     * @param key the key to remove
+     * @return the value previously cached for the key
+     * @throws java.lang.IllegalArgumentException if key is null
+     * @throws java.util.NoSuchElementException if the key is not cached
+     */
+    public V remove(K key) {
+        if (key == null) {
+            throw new IllegalArgumentException("Key can't be null.");
+        }
+        int index = indexOf(key, key.hashCode());
+        if (index == NONE) {
+            throw new NoSuchElementException("Key wasn't found in the cache :(");
+        }
+        V removed = values[index];
+        removeAt(index);
+        return removed;
+    }
+
+    /**
+     * Returns whether or not key is cached. Does not count as a hit or miss
+     * or affect eviction order.
+     *
+     * @param key the key to search for
+     * @return true if the key is cached, false otherwise
+     * @throws java.lang.IllegalArgumentException if key is null
+     */
+    public boolean containsKey(K key) {
+        if (key == null) {
+            throw new IllegalArgumentException("Key can't be null.");
+        }
+        return indexOf(key, key.hashCode()) != NONE;
+    }
+
+    /**
+     * Removes every entry. The hit, miss and eviction counts are kept.
+     */
+    public void clear() {
+        allocate(INITIAL_CAPACITY);
+    }
+
+    /**
+     * Returns the number of cached entries.
+     *
+     * @return the size of the cache
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the total weight of the cached entries.
+     *
+     * @return the weight of the cache
+     */
+    public long weight() {
+        return weight;
+    }
+
+    /**
+     * Returns the number of lookups that found a cached value.
+     *
+     * @return the hit count
+     */
+    public long hitCount() {
+        return hits;
+    }
+
+    /**
+     * Returns the number of lookups that found no cached value.
+     *
+     * @return the miss count
+     */
+    public long missCount() {
+        return misses;
+    }
+
+    /**
+     * Returns the number of entries evicted to stay under the maximum.
+     *
+     * @return the eviction count
+     */
+    public long evictionCount() {
+        return evictions;
+    }
+
+    /**
+     * Returns the fraction of lookups that were hits, or 1 if there have been
+     * no lookups.
+     *
+     * @return the hit rate
+     */
+    public double hitRate() {
+        long lookups = hits + misses;
+        return lookups == 0 ? 1.0 : (double) hits / lookups;
+    }
+
+    /**
+     * Adds a key known not to be cached, then evicts as needed.
+     *
+     * @param key the key to add
+     * @param hash hashCode of the key
+     * @param value the value to add
+     */
+    private void insert(K key, int hash, V value) {
+        if ((size + tombstones + 1.0) / states.length > MAX_LOAD_FACTOR) {
+            rehash((size + 1.0) / states.length > MAX_LOAD_FACTOR ? 2 * states.length + 1 : states.length);
+        }
+        int index = freeSlot(hash, states);
+        while (index == NONE) {
+            rehash(2 * states.length + 1);
+            index = freeSlot(hash, states);
+        }
+        if (states[index] == REMOVED) {
+            tombstones -= 1;
+        }
+        int entryWeight = weigh(key, value);
+        keys[index] = key;
+        values[index] = value;
+        weights[index] = entryWeight;
+        states[index] = LIVE;
+        size += 1;
+        weight += entryWeight;
+        if (policy == EvictionPolicy.W_TINY_LFU) {
+            states[index] |= IN_WINDOW;
+            windowWeight += entryWeight;
+            linkLast(index, true);
+        } else if (policy == EvictionPolicy.LRU) {
+            linkLast(index, false);
+        }
+        evict();
+    }
+
+    /**
+     * Marks an entry as just used.
+     *
+     * @param index slot of the entry
+     */
+    private void touch(int index) {
+        if (policy == EvictionPolicy.CLOCK) {
+            states[index] |= REFERENCED;
+        } else {
+            boolean inWindow = (states[index] & IN_WINDOW) != 0;
+            unlink(index, inWindow);
+            linkLast(index, inWindow);
+        }
+    }
+
+    /**
+     * Evicts entries until the cache is within its maximum weight. Under
+     * W_TINY_LFU, window overflow is first moved to the main region.
+     */
+    private void evict() {
+        if (policy == EvictionPolicy.W_TINY_LFU) {
+            while (windowWeight > maximumWindowWeight && weight <= maximumWeight && windowHead != NONE) {
+                promote(windowHead);
+            }
+        }
+        while (weight > maximumWeight && size > 0) {
+            int victim;
+            if (policy == EvictionPolicy.CLOCK) {
+                victim = sweep();
+            } else if (policy == EvictionPolicy.LRU || windowHead == NONE) {
+                victim = mainHead;
+            } else if (mainHead == NONE) {
+                victim = windowHead;
+            } else if (windowWeight > maximumWindowWeight) {
+                int candidate = windowHead;
+                int mainVictim = mainHead;
+                if (sketch.frequency(keys[candidate].hashCode()) > sketch.frequency(keys[mainVictim].hashCode())) {
+                    promote(candidate);
+                    victim = mainVictim;
+                } else {
+                    victim = candidate;
+                }
+            } else {
+                victim = mainHead;
+            }
+            removeAt(victim);
+            evictions += 1;
+        }
+    }
+
+    /**
+     * Advances the clock hand to the first live entry whose referenced bit is
+     * clear, clearing the bits of the entries it passes.
+     *
+     * @return slot of the entry to evict
+     */
+    private int sweep() {
+        while (true) {
+            clockHand = (clockHand + 1) % states.length;
+            byte state = states[clockHand];
+            if ((state & LIVE) != 0) {
+                if ((state & REFERENCED) == 0) {
+                    return clockHand;
+                }
+                states[clockHand] = (byte) (state & ~REFERENCED);
+            }
+        }
+    }
+
+    /**
+     * Moves an entry from the window to the most recent end of the main
+     * region.
+     *
+     * @param index slot of the entry
+     */
+    private void promote(int index) {
+        unlink(index, true);
+        states[index] &= ~IN_WINDOW;
+        windowWeight -= weights[index];
+        linkLast(index, false);
+    }
+
+    /**
+     * Removes the live entry at index.
+     *
+     * @param index slot of the entry
+     */
+    private void removeAt(int index) {
+        boolean inWindow = (states[index] & IN_WINDOW) != 0;
+        if (policy != EvictionPolicy.CLOCK) {
+            unlink(index, inWindow);
+        }
+        if (inWindow) {
+            windowWeight -= weights[index];
+        }
+        weight -= weights[index];
+        keys[index] = null;
+        values[index] = null;
+        states[index] = REMOVED;
+        size -= 1;
+        tombstones += 1;
+    }
+
+    /**
+     * Appends a slot to the most recent end of the window or main list.
+     *
+     * @param index slot to append
+     * @param window whether to append to the window list
+     */
+    private void linkLast(int index, boolean window) {
+        int tail = window ? windowTail : mainTail;
+        previous[index] = tail;
+        next[index] = NONE;
+        if (tail == NONE) {
+            if (window) {
+                windowHead = index;
+            } else {
+                mainHead = index;
+            }
+        } else {
+            next[tail] = index;
+        }
+        if (window) {
+            windowTail = index;
+        } else {
+            mainTail = index;
+        }
+    }
+
+    /**
+     * Takes a slot out of the window or main list.
+     *
+     * @param index slot to take out
+     * @param window whether the slot is in the window list
+     */
+    private void unlink(int index, boolean window) {
+        int before = previous[index];
+        int after = next[index];
+        if (before == NONE) {
+            if (window) {
+                windowHead = after;
+            } else {
+                mainHead = after;
+            }
+        } else {
+            next[before] = after;
+        }
+        if (after == NONE) {
+            if (window) {
+                windowTail = before;
+            } else {
+                mainTail = before;
+            }
+        } else {
+            previous[after] = before;
+        }
+    }
+
+    /**
+     * Rebuilds the table at the given length, dropping removed slots and
+     * keeping every entry's eviction order.
+     *
+     * Quadratic probing doesn't reach every slot of a 2n + 1 length table, so
+     * if an entry finds no free slot, the rebuild starts over at the next
+     * length until every entry fits.
+     *
+     * @param length length of the new table
+     */
+    private void rehash(int length) {
+        K[] oldKeys = keys;
+        V[] oldValues = values;
+        byte[] oldStates = states;
+        int[] oldWeights = weights;
+        int[] oldNext = next;
+        int oldWindowHead = windowHead;
+        int oldMainHead = mainHead;
+        while (!moveAll(length, oldKeys, oldValues, oldStates, oldWeights, oldNext, oldWindowHead, oldMainHead)) {
+            length = 2 * length + 1;
+        }
+    }
+
+    /**
+     * Replaces the table with an empty one of the given length and copies
+     * every entry of an old table into it.
+     *
+     * @param length length of the new table
+     * @param oldKeys keys of the old table
+     * @param oldValues values of the old table
+     * @param oldStates states of the old table
+     * @param oldWeights weights of the old table
+     * @param oldNext next links of the old table
+     * @param oldWindowHead head of the old window list
+     * @param oldMainHead head of the old main list
+     * @return true if every entry fit, false if one found no free slot
+     */
+    private boolean moveAll(int length, K[] oldKeys, V[] oldValues, byte[] oldStates, int[] oldWeights,
+                            int[] oldNext, int oldWindowHead, int oldMainHead) {
+        allocate(length);
+        if (policy == EvictionPolicy.CLOCK) {
+            for (int i = 0; i < oldStates.length; i++) {
+                if ((oldStates[i] & LIVE) != 0 && !moveEntry(i, oldKeys, oldValues, oldStates, oldWeights)) {
+                    return false;
+                }
+            }
+        } else {
+            for (int i = oldWindowHead; i != NONE; i = oldNext[i]) {
+                if (!moveEntry(i, oldKeys, oldValues, oldStates, oldWeights)) {
+                    return false;
+                }
+            }
+            for (int i = oldMainHead; i != NONE; i = oldNext[i]) {
+                if (!moveEntry(i, oldKeys, oldValues, oldStates, oldWeights)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Copies one entry of an old table into the current table during a
+     * rehash, appending it to its list.
+     *
+     * @param i slot of the entry in the old table
+     * @param oldKeys keys of the old table
+     * @param oldValues values of the old table
+     * @param oldStates states of the old table
+     * @param oldWeights weights of the old table
+     * @return true if the entry was copied, false if it found no free slot
+     */
+    private boolean moveEntry(int i, K[] oldKeys, V[] oldValues, byte[] oldStates, int[] oldWeights) {
+        int index = freeSlot(oldKeys[i].hashCode(), states);
+        if (index == NONE) {
+            return false;
+        }
+        keys[index] = oldKeys[i];
+        values[index] = oldValues[i];
+        states[index] = oldStates[i];
+        weights[index] = oldWeights[i];
+        size += 1;
+        weight += oldWeights[i];
+        boolean inWindow = (oldStates[i] & IN_WINDOW) != 0;
+        if (inWindow) {
+            windowWeight += oldWeights[i];
+        }
+        if (policy != EvictionPolicy.CLOCK) {
+            linkLast(index, inWindow);
+        }
+        return true;
+    }
+
+    /**
+     * Replaces the table with an empty one of the given length.
+     *
+     * @param length length of the new table
+     */
+    private void allocate(int length) {
+        keys = (K[]) new Object[length];
+        values = (V[]) new Object[length];
+        states = new byte[length];
+        weights = new int[length];
+        if (policy != EvictionPolicy.CLOCK) {
+            previous = new int[length];
+            next = new int[length];
+        }
+        size = 0;
+        tombstones = 0;
+        weight = 0;
+        windowWeight = 0;
+        windowHead = NONE;
+        windowTail = NONE;
+        mainHead = NONE;
+        mainTail = NONE;
+        clockHand = 0;
+    }
+
+    /**
+     * Finds the live slot holding key.
+     *
+     * @param key key to search for
+     * @param hash hashCode of the key
+     * @return index of the slot, or NONE if the key is not cached
+     */
+    private int indexOf(K key, int hash) {
+        int length = states.length;
+        int index = Math.abs(hash % length);
+        for (int i = 1; i <= length; i++) {
+            byte state = states[index];
+            if (state == 0) {
+                return NONE;
+            }
+            if ((state & LIVE) != 0 && keys[index].equals(key)) {
+                return index;
+            }
+            index = (index + 2 * i - 1) % length;
+        }
+        return NONE;
+    }
+
+    /**
+     * Finds the first removed or empty slot on a hash's probe sequence.
+     *
+     * @param hash hashCode of the key
+     * @param table states of the table to probe
+     * @return slot to store at, or NONE if the probe sequence reaches no
+     * free slot
+     */
+    private static int freeSlot(int hash, byte[] table) {
+        int length = table.length;
+        int index = Math.abs(hash % length);
+        for (int i = 1; i <= length; i++) {
+            if ((table[index] & LIVE) == 0) {
+                return index;
+            }
+            index = (index + 2 * i - 1) % length;
+        }
+        return NONE;
+    }
+
+    /**
+     * Records an access to a key for W_TINY_LFU admission.
+     *
+     * @param hash hashCode of the key
+     */
+    private void record(int hash) {
+        if (sketch != null) {
+            sketch.increment(hash);
+        }
+    }
+
+    /**
+     * Computes the weight of an entry.
+     *
+     * @param key the key
+     * @param value the value
+     * @return the weight of the entry
+     */
+    private int weigh(K key, V value) {
+        if (weigher == null) {
+            return 1;
+        }
+        int entryWeight = weigher.applyAsInt(key, value);
+        if (entryWeight < 0) {
+            throw new IllegalArgumentException("Weight can't be negative.");
+        }
+        return entryWeight;
+    }
+
+    /**
+     * A count-min sketch of 4-bit saturating counters that estimates how
+     * often each key has been accessed. Every counter is halved once enough
+     * accesses have been recorded, so old popularity fades.
+     */
+    private static final class FrequencySketch {
+        private static final int ROWS = 4;
+        private static final int[] SEEDS = {0x97cb3127, 0x2f5b7a23, 0x6a09e667, 0xbb67ae85};
+        private static final byte MAX_COUNT = 15;
+
+        private final byte[] counters;
+        private final int mask;
+        private final int sampleSize;
+        private int additions;
+
+        /**
+         * Creates a sketch sized for a cache of the given maximum weight.
+         *
+         * @param maximumWeight maximum weight of the cache
+         */
+        FrequencySketch(long maximumWeight) {
+            int width = (int) Math.min(Math.max(maximumWeight, 16), 1 << 22);
+            width = Integer.highestOneBit(width - 1) << 1;
+            counters = new byte[ROWS * width];
+            mask = width - 1;
+            sampleSize = 10 * width;
+        }
+
+        /**
+         * Records one access to a key.
+         *
+         * @param hash hashCode of the key
+         */
+        void increment(int hash) {
+            for (int row = 0; row < ROWS; row++) {
+                int index = row * (mask + 1) + slot(hash, row);
+                if (counters[index] < MAX_COUNT) {
+                    counters[index] += 1;
+                }
+            }
+            additions += 1;
+            if (additions >= sampleSize) {
+                for (int i = 0; i < counters.length; i++) {
+                    counters[i] >>= 1;
+                }
+                additions /= 2;
+            }
+        }
+
+        /**
+         * Estimates how often a key has been accessed.
+         *
+         * @param hash hashCode of the key
+         * @return the smallest counter for the key
+         */
+        int frequency(int hash) {
+            int frequency = MAX_COUNT;
+            for (int row = 0; row < ROWS; row++) {
+                frequency = Math.min(frequency, counters[row * (mask + 1) + slot(hash, row)]);
+            }
+            return frequency;
+        }
+
+        /**
+         * Picks a key's counter within a row.
+         *
+         * @param hash hashCode of the key
+         * @param row row of the sketch
+         * @return index of the counter within the row
+         */
+        private int slot(int hash, int row) {
+            int h = hash * SEEDS[row];
+            h ^= h >>> 16;
+            return h & mask;
+        }
+    }
+}
@@ -0,0 +1,123 @@
+import java.util.Random;
+import java.util.function.IntConsumer;
+
+/**
+ * Measures the throughput of ConcurrentQuadraticProbingHashMap against a
+ * QuadraticProbingHashMap behind one shared lock, the synchronized wrapper it
+ * is meant to replace. Each thread runs OPERATIONS lookups and puts, nine
+ * lookups to every put, on keys drawn from a map prefilled with KEYS entries.
+ * Each thread count is run a few rounds so the later rounds are
+ * JIT-compiled.
+ *
+ * Run with: java ConcurrentMapThroughput [threads...]
+ *
+ * @author Madison Schlaff
+ * @version 1.0
+ *
+ */
+public class ConcurrentMapThroughput {
+
+    private static final int KEYS = 100000;
+    private static final int OPERATIONS = 1000000;
+    private static final int ROUNDS = 3;
+
+    /**
+     * Prints the throughput of each map for each thread count.
+     *
+     * @param args thread counts to run, 1, 2, 4 and 8 if none are given
+     * @throws InterruptedException if interrupted while waiting for threads
+     */
+    public static void main(String[] args) throws InterruptedException {
+        int[] threadCounts = {1, 2, 4, 8};
+        if (args.length > 0) {
+            threadCounts = new int[args.length];
+            for (int i = 0; i < args.length; i++) {
+                threadCounts[i] = Integer.parseInt(args[i]);
+            }
+        }
+        System.out.println("available processors: " + Runtime.getRuntime().availableProcessors());
+        for (int threads : threadCounts) {
+            for (int round = 1; round <= ROUNDS; round++) {
+                System.out.println(threads + " threads, round " + round + ": "
+                        + concurrent(threads) + " ops/ms concurrent, "
+                        + synchronizedWrapper(threads) + " ops/ms synchronized");
+            }
+        }
+    }
+
+    /**
+     * Runs the workload against a ConcurrentQuadraticProbingHashMap.
+     *
+     * @param threads number of threads to run
+     * @return operations per millisecond across all threads
+     * @throws InterruptedException if interrupted while waiting for threads
+     */
+    private static long concurrent(int threads) throws InterruptedException {
+        ConcurrentQuadraticProbingHashMap<Integer, Integer> map = new ConcurrentQuadraticProbingHashMap<>();
+        for (int i = 0; i < KEYS; i++) {
+            map.put(i, i);
+        }
+        return run(threads, key -> {
+            if (key % 10 == 0) {
+                map.put(key, key);
+            } else {
+                map.getOrNull(key);
+            }
+        });
+    }
+
+    /**
+     * Runs the workload against a QuadraticProbingHashMap with every
+     * operation synchronized on one lock.
+     *
+     * @param threads number of threads to run
+     * @return operations per millisecond across all threads
+     * @throws InterruptedException if interrupted while waiting for threads
+     */
+    private static long synchronizedWrapper(int threads) throws InterruptedException {
+        QuadraticProbingHashMap<Integer, Integer> map = new QuadraticProbingHashMap<>();
+        for (int i = 0; i < KEYS; i++) {
+            map.put(i, i);
+        }
+        return run(threads, key -> {
+            synchronized (map) {
+                if (key % 10 == 0) {
+                    map.put(key, key);
+                } else {
+                    map.getOrNull(key);
+                }
+            }
+        });
+    }
+
+    /**
+     * Starts the threads, each passing OPERATIONS random keys to operation,
+     * and times them until the last one finishes.
+     *
+     * @param threads number of threads to run
+     * @param operation the operation to run on each key
+     * @return operations per millisecond across all threads
+     * @throws InterruptedException if interrupted while waiting for threads
+     */
+    private static long run(int threads, IntConsumer operation) throws InterruptedException {
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            long seed = t;
+            workers[t] = new Thread(() -> {
+                Random random = new Random(seed);
+                for (int i = 0; i < OPERATIONS; i++) {
+                    operation.accept(random.nextInt(KEYS));
+                }
+            });
+        }
+        long start = System.nanoTime();
+        for (Thread worker : workers) {
+            worker.start();
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        long elapsed = System.nanoTime() - start;
+        return (long) threads * OPERATIONS * 1000000 / elapsed;
+    }
+}
@@ -0,0 +1,541 @@
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A thread-safe QuadraticProbingHashMap.
+ *
+ * The map is split into segments by hash, and each segment is its own
+ * quadratic probing table guarded by its own lock. Writes lock only the
+ * segment the key falls in. Reads never lock: slots hold immutable nodes that
+ * are published with release writes and read with acquire reads, so a reader
+ * always sees either a whole entry, a removed marker, or an empty slot.
+ *
+ * A segment resizes by building a new table off to the side and publishing
+ * it in one volatile write. Readers keep probing the old table (which no
+ * writer touches once the resize has started) until they next read the
+ * segment's table, and writers to other segments are never blocked.
+ *
+ * keySet and values are weakly consistent: they reflect each segment as it
+ * was when that segment was scanned.
+ *
+ * @author Madison Schlaff
+ * @version 1.0
+ *
+ */
+public class ConcurrentQuadraticProbingHashMap<K, V> {
+
+    /**
+     * The initial capacity of the map when created with the default
+     * constructor.
+     */
+    public static final int INITIAL_CAPACITY = 13;
+
+    /**
+     * The number of segments when created with the default constructor.
+     */
+    public static final int DEFAULT_CONCURRENCY_LEVEL = 16;
+
+    /**
+     * The max load factor of each segment.
+     */
+    private static final double MAX_LOAD_FACTOR = 0.67;
+
+    /**
+     * Marks a slot whose entry was removed.
+     */
+    private static final Object REMOVED = new Object();
+
+    private static final VarHandle SLOTS = MethodHandles.arrayElementVarHandle(Object[].class);
+
+    private final Segment<K, V>[] segments;
+    private final int segmentShift;
+
+    /**
+     * Constructs a new ConcurrentQuadraticProbingHashMap with
+     * DEFAULT_CONCURRENCY_LEVEL segments and a total initial capacity of
+     * INITIAL_CAPACITY.
+     */
+    public ConcurrentQuadraticProbingHashMap() {
+        this(INITIAL_CAPACITY, DEFAULT_CONCURRENCY_LEVEL);
+    }
+
+    /**
+     * Constructs a new ConcurrentQuadraticProbingHashMap.
+     *
+     * The concurrency level is rounded up to a power of two and bounds how
+     * many writers can proceed at once. The initial capacity is split across
+     * the segments, but no segment starts shorter than INITIAL_CAPACITY,
+     * since quadratic probing reaches too few slots of a very short table.
+     *
+     * @param initialCapacity the total initial capacity of the map
+     * @param concurrencyLevel the expected number of concurrent writers
+     * @throws java.lang.IllegalArgumentException if either argument is not
+     * positive
+     */
+    public ConcurrentQuadraticProbingHashMap(int initialCapacity, int concurrencyLevel) {
+        if (initialCapacity <= 0 || concurrencyLevel <= 0) {
+            throw new IllegalArgumentException("Capacity and concurrency level must be positive.");
+        }
+        int count = 1;
+        int shift = 32;
+        while (count < concurrencyLevel && count < (1 << 16)) {
+            count <<= 1;
+            shift -= 1;
+        }
+        segmentShift = shift;
+        segments = new Segment[count];
+        int segmentCapacity = segmentLength(initialCapacity);
+        for (int i = 0; i < count; i++) {
+            segments[i] = new Segment<>(segmentCapacity);
+        }
+    }
+
+    /**
+     * Adds the given key-value pair to the map. If the map already has this
+     * key, replace its value with the new one passed in.
+     *
+     * @param key the key to add
+     * @param value the value to add
+     * @return null if the key was not already in the map. If it was in the
+     * map, return the old value associated with it
+     * @throws java.lang.IllegalArgumentException if key or value is null
+     */
+    public V put(K key, V value) {
+        if (value == null || key == null) {
+            throw new IllegalArgumentException("Key is null or value is null.");
+        }
+        int hash = spread(key.hashCode());
+        return segmentFor(hash).put(key, hash, value);
+    }
+
+    /**
+     * Removes the entry with a matching key from the map.
+     *
+     * @param key the key to remove
+     * @return the value previously associated with the key
+     * @throws java.lang.IllegalArgumentException if key is null
+     * @throws java.util.NoSuchElementException if the key is not in the map
+     */
+    public V remove(K key) {
+        if (key == null) {
+            throw new IllegalArgumentException("Key can't be null.");
+        }
+        int hash = spread(key.hashCode());
+        V removed = segmentFor(hash).remove(key, hash);
+        if (removed == null) {
+            throw new NoSuchElementException("Key wasn't found in the map :(");
+        }
+        return removed;
+    }
+
+    /**
+     * Gets the value associated with the given key. Never blocks.
+     *
+     * @param key the key to search for in the map
+     * @return the value associated with the given key
+     * @throws java.lang.IllegalArgumentException if key is null
+     * @throws java.util.NoSuchElementException if the key is not in the map
+     */
+    public V get(K key) {
+        V value = getOrNull(key);
+        if (value == null) {
+            throw new NoSuchElementException("Key wasn't found in the map :(");
+        }
+        return value;
+    }
+
+    /**
+     * Gets the value associated with the given key, or defaultValue if the
+     * key is not in the map. Never blocks.
+     *
+     * @param key the key to search for in the map
+     * @param defaultValue the value to return if the key is not in the map
+     * @return the value associated with the given key, or defaultValue
+     * @throws java.lang.IllegalArgumentException if key is null
+     */
+    public V getOrDefault(K key, V defaultValue) {
+        if (key == null) {
+            throw new IllegalArgumentException("Key can't be null.");
+        }
+        int hash = spread(key.hashCode());
+        Node<K, V> node = segmentFor(hash).find(key, hash);
+        return node == null ? defaultValue : node.value;
+    }
+
+    /**
+     * Gets the value associated with the given key, or null if the key is not
+     * in the map. Never blocks.
+     *
+     * @param key the key to search for in the map
+     * @return the value associated with the given key, or null
+     * @throws java.lang.IllegalArgumentException if key is null
+     */
+    public V getOrNull(K key) {
+        return getOrDefault(key, null);
+    }
+
+    /**
+     * Returns whether or not the key is in the map. Never blocks.
+     *
+     * @param key the key to search for in the map
+     * @return true if the key is contained within the map, false
+     * otherwise
+     * @throws java.lang.IllegalArgumentException if key is null
+     */
+    public boolean containsKey(K key) {
+        return getOrNull(key) != null;
+    }
+
+    /**
+     * Returns a Set of the keys contained in this map.
+     *
+     * @return the set of keys in this map
+     */
+    public Set<K> keySet() {
+        Set<K> keySet = new HashSet<>();
+        for (Segment<K, V> segment : segments) {
+            Object[] slots = segment.slots;
+            for (int i = 0; i < slots.length; i++) {
+                Object slot = SLOTS.getAcquire(slots, i);
+                if (slot instanceof Node) {
+                    keySet.add(((Node<K, V>) slot).key);
+                }
+            }
+        }
+        return keySet;
+    }
+
+    /**
+     * Returns a List of the values contained in this map.
+     *
+     * @return list of values in this map
+     */
+    public List<V> values() {
+        List<V> values = new ArrayList<>();
+        for (Segment<K, V> segment : segments) {
+            Object[] slots = segment.slots;
+            for (int i = 0; i < slots.length; i++) {
+                Object slot = SLOTS.getAcquire(slots, i);
+                if (slot instanceof Node) {
+                    values.add(((Node<K, V>) slot).value);
+                }
+            }
+        }
+        return values;
+    }
+
+    /**
+     * Resize the backing tables so their lengths add up to at least length.
+     *
+     * Every segment is locked, in order, before any is checked, so either
+     * every segment is resized or, if length is too short for one of them,
+     * none is. Writers block until the resize is done; readers don't.
+     *
+     * @param length new total length of the backing tables
+     * @throws java.lang.IllegalArgumentException if the new length of any
+     * segment is less than the number of items in it
+     */
+    public void resizeBackingTable(int length) {
+        int segmentLength = Math.max(1, (length + segments.length - 1) / segments.length);
+        int locked = 0;
+        try {
+            for (Segment<K, V> segment : segments) {
+                segment.lock.lock();
+                locked += 1;
+            }
+            for (Segment<K, V> segment : segments) {
+                if (segmentLength < segment.size) {
+                    throw new IllegalArgumentException("The length is less than the size.");
+                }
+            }
+            for (Segment<K, V> segment : segments) {
+                segment.rehash(segmentLength);
+            }
+        } finally {
+            for (int i = 0; i < locked; i++) {
+                segments[i].lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Clears the map, one segment at a time. Each segment goes back to the
+     * shortest length a new map's segments start with.
+     */
+    public void clear() {
+        int segmentCapacity = segmentLength(INITIAL_CAPACITY);
+        for (Segment<K, V> segment : segments) {
+            segment.lock.lock();
+            try {
+                segment.slots = new Object[segmentCapacity];
+                segment.size = 0;
+                segment.tombstones = 0;
+            } finally {
+                segment.lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Returns the size of the map. Under concurrent writes this is only an
+     * estimate.
+     *
+     * @return the size of the map
+     */
+    public int size() {
+        long size = 0;
+        for (Segment<K, V> segment : segments) {
+            size += segment.size;
+        }
+        return (int) Math.min(size, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Returns whether or not the map is empty.
+     *
+     * @return true if empty, false otherwise
+     */
+    public boolean isEmpty() {
+        for (Segment<K, V> segment : segments) {
+            if (segment.size != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the initial length of each segment for a total capacity: an
+     * even share of it, but at least INITIAL_CAPACITY.
+     *
+     * @param capacity the total capacity of the map
+     * @return the length of each segment's table
+     */
+    private int segmentLength(int capacity) {
+        return Math.max(INITIAL_CAPACITY, (capacity + segments.length - 1) / segments.length);
+    }
+
+    /**
+     * Picks the segment for a spread hash from its high bits, leaving the low
+     * bits for the slot index.
+     *
+     * @param hash spread hash of the key
+     * @return segment the key belongs to
+     */
+    private Segment<K, V> segmentFor(int hash) {
+        return segmentShift == 32 ? segments[0] : segments[hash >>> segmentShift];
+    }
+
+    /**
+     * Mixes the bits of a hashCode so the high bits used for segment
+     * selection depend on the whole hashCode.
+     *
+     * @param h hashCode to mix
+     * @return mixed hash
+     */
+    private static int spread(int h) {
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        return h;
+    }
+
+    /**
+     * An immutable key-value pair stored in a slot. Replacing a value
+     * publishes a new node rather than mutating this one.
+     */
+    private static final class Node<K, V> {
+        private final K key;
+        private final int hash;
+        private final V value;
+
+        /**
+         * Creates a node.
+         *
+         * @param key the key
+         * @param hash spread hash of the key
+         * @param value the value
+         */
+        Node(K key, int hash, V value) {
+            this.key = key;
+            this.hash = hash;
+            this.value = value;
+        }
+    }
+
+    /**
+     * One quadratic probing table. Writers hold the segment's lock; readers
+     * only read slots.
+     */
+    private static final class Segment<K, V> {
+        private final ReentrantLock lock = new ReentrantLock();
+        private volatile Object[] slots;
+        private volatile int size;
+        private int tombstones;
+
+        /**
+         * Creates a segment.
+         *
+         * @param capacity the initial length of the table
+         */
+        Segment(int capacity) {
+            slots = new Object[capacity];
+        }
+
+        /**
+         * Finds the node holding key without locking.
+         *
+         * @param key key to search for
+         * @param hash spread hash of the key
+         * @return the node holding key, or null if it is not present
+         */
+        Node<K, V> find(K key, int hash) {
+            Object[] table = slots;
+            int length = table.length;
+            int index = (hash & Integer.MAX_VALUE) % length;
+            for (int i = 1; i <= length; i++) {
+                Object slot = SLOTS.getAcquire(table, index);
+                if (slot == null) {
+                    return null;
+                }
+                if (slot != REMOVED) {
+                    Node<K, V> node = (Node<K, V>) slot;
+                    if (node.hash == hash && node.key.equals(key)) {
+                        return node;
+                    }
+                }
+                index = (index + 2 * i - 1) % length;
+            }
+            return null;
+        }
+
+        /**
+         * Adds or replaces key's value under the segment lock.
+         *
+         * @param key the key to add
+         * @param hash spread hash of the key
+         * @param value the value to add
+         * @return the old value, or null if the key was not present
+         */
+        V put(K key, int hash, V value) {
+            lock.lock();
+            try {
+                Object[] table = slots;
+                if ((size + tombstones + 1.0) / table.length > MAX_LOAD_FACTOR) {
+                    rehash((size + 1.0) / table.length > MAX_LOAD_FACTOR
+                            ? 2 * table.length + 1 : table.length);
+                    table = slots;
+                }
+                int length = table.length;
+                int index = (hash & Integer.MAX_VALUE) % length;
+                int firstRemoved = -1;
+                int i = 1;
+                Object slot = table[index];
+                while (slot != null && i <= length) {
+                    if (slot == REMOVED) {
+                        if (firstRemoved == -1) {
+                            firstRemoved = index;
+                        }
+                    } else {
+                        Node<K, V> node = (Node<K, V>) slot;
+                        if (node.hash == hash && node.key.equals(key)) {
+                            SLOTS.setRelease(table, index, new Node<>(key, hash, value));
+                            return node.value;
+                        }
+                    }
+                    index = (index + 2 * i - 1) % length;
+                    i += 1;
+                    slot = table[index];
+                }
+                if (firstRemoved != -1) {
+                    index = firstRemoved;
+                    tombstones -= 1;
+                } else if (slot != null) {
+                    // no valid spot after table.length probes
+                    rehash(2 * length + 1);
+                    return put(key, hash, value);
+                }
+                SLOTS.setRelease(table, index, new Node<>(key, hash, value));
+                size += 1;
+                return null;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * Removes key under the segment lock.
+         *
+         * @param key the key to remove
+         * @param hash spread hash of the key
+         * @return the removed value, or null if the key was not present
+         */
+        V remove(K key, int hash) {
+            lock.lock();
+            try {
+                Object[] table = slots;
+                int length = table.length;
+                int index = (hash & Integer.MAX_VALUE) % length;
+                for (int i = 1; i <= length; i++) {
+                    Object slot = table[index];
+                    if (slot == null) {
+                        return null;
+                    }
+                    if (slot != REMOVED) {
+                        Node<K, V> node = (Node<K, V>) slot;
+                        if (node.hash == hash && node.key.equals(key)) {
+                            SLOTS.setRelease(table, index, REMOVED);
+                            size -= 1;
+                            tombstones += 1;
+                            return node.value;
+                        }
+                    }
+                    index = (index + 2 * i - 1) % length;
+                }
+                return null;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * Migrates every live node into a new table of the given length and
+         * publishes it. Must hold the lock. The old table is left untouched
+         * so readers still probing it see a consistent snapshot.
+         *
+         * Quadratic probing doesn't reach every slot of these tables, so if a
+         * node's probe sequence finds no empty slot the new table is
+         * discarded and the migration starts over at 2 * length + 1.
+         *
+         * @param length length of the new table
+         */
+        void rehash(int length) {
+            Object[] table = slots;
+            Object[] newTable = new Object[length];
+            for (Object slot : table) {
+                if (slot != null && slot != REMOVED) {
+                    Node<K, V> node = (Node<K, V>) slot;
+                    int index = (node.hash & Integer.MAX_VALUE) % length;
+                    int i = 1;
+                    while (newTable[index] != null && i <= length) {
+                        index = (index + 2 * i - 1) % length;
+                        i += 1;
+                    }
+                    if (newTable[index] != null) {
+                        rehash(2 * length + 1);
+                        return;
+                    }
+                    newTable[index] = node;
+                }
+            }
+            tombstones = 0;
+            slots = newTable;
+        }
+    }
+}
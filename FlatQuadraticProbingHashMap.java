@@ -0,0 +1,374 @@
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * A QuadraticProbingHashMap with flattened entry storage.
+ *
+ * Keys and values live in parallel Object arrays and each slot's state
+ * (empty, live or removed) lives in a byte array, so put never allocates an
+ * entry object and a lookup is a single array hop to the key. Misses are
+ * reported through sentinels rather than exceptions wherever possible.
+ *
+ * @author Madison Schlaff
+ * @version 1.0
+ *
+ */
+public class FlatQuadraticProbingHashMap<K, V> {
+
+    /**
+     * The initial capacity of the map when created with the default
+     * constructor.
+     */
+    public static final int INITIAL_CAPACITY = 13;
+
+    /**
+     * The max load factor of the map.
+     */
+    private static final double MAX_LOAD_FACTOR = 0.67;
+
+    /**
+     * Slot states stored in the states array.
+     */
+    private static final byte EMPTY = 0;
+    private static final byte LIVE = 1;
+    private static final byte REMOVED = 2;
+
+    private K[] keys;
+    private V[] values;
+    private byte[] states;
+    private int size;
+
+    /**
+     * Constructs a new FlatQuadraticProbingHashMap.
+     *
+     * The backing arrays have an initial capacity of INITIAL_CAPACITY.
+     */
+    public FlatQuadraticProbingHashMap() {
+        this(INITIAL_CAPACITY);
+    }
+
+    /**
+     * Constructs a new FlatQuadraticProbingHashMap.
+     *
+     * You may assume initialCapacity will always be positive.
+     *
+     * @param initialCapacity the initial capacity of the backing arrays
+     */
+    public FlatQuadraticProbingHashMap(int initialCapacity) {
+        keys = (K[]) new Object[initialCapacity];
+        values = (V[]) new Object[initialCapacity];
+        states = new byte[initialCapacity];
+        size = 0;
+    }
+
+    /**
+     * Adds the given key-value pair to the map. If the map already has this
+     * key, replace its value with the new one passed in.
+     *
+     * Resizes to 2 * old length + 1 before adding if the add would violate
+     * the max load factor, or if no valid spot is found after checking
+     * table.length spots.
+     *
+     * @param key the key to add
+     * @param value the value to add
+     * @return null if the key was not already in the map. If it was in the
+     * map, return the old value associated with it
+     * @throws java.lang.IllegalArgumentException if key or value is null
+     */
+    public V put(K key, V value) {
+        if (value == null || key == null) {
+            throw new IllegalArgumentException("Key is null or value is null.");
+        }
+        if ((size + 1.0) / states.length > MAX_LOAD_FACTOR) {
+            resizeBackingTable(2 * states.length + 1);
+        }
+        int index = findSlot(key);
+        while (index == -1) {
+            resizeBackingTable(2 * states.length + 1);
+            index = findSlot(key);
+        }
+        if (states[index] == LIVE) {
+            V old = values[index];
+            values[index] = value;
+            return old;
+        }
+        keys[index] = key;
+        values[index] = value;
+        states[index] = LIVE;
+        size += 1;
+        return null;
+    }
+
+    /**
+     * Removes the entry with a matching key from the map by marking its slot
+     * as removed.
+     *
+     * @param key the key to remove
+     * @return the value previously associated with the key
+     * @throws java.lang.IllegalArgumentException if key is null
+     * @throws java.util.NoSuchElementException if the key is not in the map
+     */
+    public V remove(K key) {
+        if (key == null) {
+            throw new IllegalArgumentException("Key can't be null.");
+        }
+        int index = indexOf(key);
+        if (index == -1) {
+            throw new NoSuchElementException("Key wasn't found in the map :(");
+        }
+        V removed = values[index];
+        keys[index] = null;
+        values[index] = null;
+        states[index] = REMOVED;
+        size -= 1;
+        return removed;
+    }
+
+    /**
+     * Gets the value associated with the given key.
+     *
+     * @param key the key to search for in the map
+     * @return the value associated with the given key
+     * @throws java.lang.IllegalArgumentException if key is null
+     * @throws java.util.NoSuchElementException if the key is not in the map
+     */
+    public V get(K key) {
+        V value = getOrNull(key);
+        if (value == null) {
+            throw new NoSuchElementException("Key wasn't found in the map :(");
+        }
+        return value;
+    }
+
+    /**
+     * Gets the value associated with the given key, or defaultValue if the
+     * key is not in the map.
+     *
+     * @param key the key to search for in the map
+     * @param defaultValue the value to return if the key is not in the map
+     * @return the value associated with the given key, or defaultValue
+     * @throws java.lang.IllegalArgumentException if key is null
+     */
+    public V getOrDefault(K key, V defaultValue) {
+        if (key == null) {
+            throw new IllegalArgumentException("Key can't be null.");
+        }
+        int index = indexOf(key);
+        return index == -1 ? defaultValue : values[index];
+    }
+
+    /**
+     * Gets the value associated with the given key, or null if the key is not
+     * in the map. Since null values can't be stored, null always means a miss.
+     *
+     * @param key the key to search for in the map
+     * @return the value associated with the given key, or null
+     * @throws java.lang.IllegalArgumentException if key is null
+     */
+    public V getOrNull(K key) {
+        return getOrDefault(key, null);
+    }
+
+    /**
+     * Returns whether or not the key is in the map.
+     *
+     * @param key the key to search for in the map
+     * @return true if the key is contained within the map, false
+     * otherwise
+     * @throws java.lang.IllegalArgumentException if key is null
+     */
+    public boolean containsKey(K key) {
+        if (key == null) {
+            throw new IllegalArgumentException("Key can't be null.");
+        }
+        return indexOf(key) != -1;
+    }
+
+    /**
+     * Returns a Set of the keys contained in this map.
+     *
+     * @return the set of keys in this map
+     */
+    public Set<K> keySet() {
+        Set<K> keySet = new HashSet<>();
+        for (int i = 0; i < states.length; i++) {
+            if (states[i] == LIVE) {
+                keySet.add(keys[i]);
+            }
+        }
+        return keySet;
+    }
+
+    /**
+     * Returns a List of the values contained in this map, in order of
+     * increasing index.
+     *
+     * @return list of values in this map
+     */
+    public List<V> values() {
+        List<V> valueList = new ArrayList<>();
+        for (int i = 0; i < states.length; i++) {
+            if (states[i] == LIVE) {
+                valueList.add(values[i]);
+            }
+        }
+        return valueList;
+    }
+
+    /**
+     * Resize the backing arrays to length, reinserting the live entries in
+     * order of increasing index.
+     *
+     * Quadratic probing doesn't reach every slot of an arbitrary length, so
+     * if an entry finds no empty slot, the arrays grow past length until
+     * every entry fits. The map is left unchanged until the new arrays are
+     * filled.
+     *
+     * @param length new length of the backing arrays
+     * @throws java.lang.IllegalArgumentException if length is less than the
+     * number of items in the hash map
+     */
+    public void resizeBackingTable(int length) {
+        if (length < size) {
+            throw new IllegalArgumentException("The length is less than the size.");
+        }
+        K[] newKeys = (K[]) new Object[length];
+        V[] newValues = (V[]) new Object[length];
+        byte[] newStates = new byte[length];
+        int i = 0;
+        while (i < states.length) {
+            if (states[i] == LIVE) {
+                int index = emptySlot(keys[i], newStates);
+                if (index == -1) {
+                    length = 2 * length + 1;
+                    newKeys = (K[]) new Object[length];
+                    newValues = (V[]) new Object[length];
+                    newStates = new byte[length];
+                    i = 0;
+                    continue;
+                }
+                newKeys[index] = keys[i];
+                newValues[index] = values[i];
+                newStates[index] = LIVE;
+            }
+            i++;
+        }
+        keys = newKeys;
+        values = newValues;
+        states = newStates;
+    }
+
+    /**
+     * Clears the map.
+     *
+     * Resets the backing arrays to the INITIAL_CAPACITY and resets the size.
+     */
+    public void clear() {
+        keys = (K[]) new Object[INITIAL_CAPACITY];
+        values = (V[]) new Object[INITIAL_CAPACITY];
+        states = new byte[INITIAL_CAPACITY];
+        size = 0;
+    }
+
+    /**
+     * Returns the size of the map.
+     *
+     * @return the size of the map
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns whether or not the map is empty.
+     *
+     * @return true if empty, false otherwise
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Finds the slot holding key.
+     *
+     * @param key key to search for
+     * @return index of the live slot holding key, or -1 if it is not present
+     */
+    private int indexOf(K key) {
+        int length = states.length;
+        int index = hash(key, length);
+        for (int i = 1; i <= length; i++) {
+            byte state = states[index];
+            if (state == EMPTY) {
+                return -1;
+            }
+            if (state == LIVE && keys[index].equals(key)) {
+                return index;
+            }
+            index = (index + 2 * i - 1) % length;
+        }
+        return -1;
+    }
+
+    /**
+     * Finds the slot key should be written to: the live slot already holding
+     * it, or else the first removed or empty slot on its probe sequence.
+     *
+     * @param key key to probe
+     * @return slot to store at, or -1 if no valid spot was found after
+     * checking table.length spots
+     */
+    private int findSlot(K key) {
+        int length = states.length;
+        int index = hash(key, length);
+        int firstRemoved = -1;
+        for (int i = 1; i <= length; i++) {
+            byte state = states[index];
+            if (state == EMPTY) {
+                return firstRemoved == -1 ? index : firstRemoved;
+            }
+            if (state == LIVE) {
+                if (keys[index].equals(key)) {
+                    return index;
+                }
+            } else if (firstRemoved == -1) {
+                firstRemoved = index;
+            }
+            index = (index + 2 * i - 1) % length;
+        }
+        return firstRemoved;
+    }
+
+    /**
+     * Finds the first empty slot on key's probe sequence in arrays being
+     * filled by a resize, which hold no removed slots or duplicate keys.
+     *
+     * @param key key to probe
+     * @param table states of the arrays being filled
+     * @return the empty slot, or -1 if the probe sequence reaches none
+     */
+    private static int emptySlot(Object key, byte[] table) {
+        int length = table.length;
+        int index = hash(key, length);
+        for (int i = 1; i <= length; i++) {
+            if (table[index] == EMPTY) {
+                return index;
+            }
+            index = (index + 2 * i - 1) % length;
+        }
+        return -1;
+    }
+
+    /**
+     * Hashing function
+     * @param key key to hash
+     * @param length length of the table to hash into
+     * @return home slot of the key
+     */
+    private static int hash(Object key, int length) {
+        return Math.abs(key.hashCode() % length);
+    }
+}
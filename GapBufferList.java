@@ -0,0 +1,233 @@
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * A list with the same methods as ArrayList, stored as a gap buffer.
+ *
+ * The backing array holds the elements in order with one run of empty slots,
+ * the gap, somewhere among them. Adding or removing at an index first moves
+ * the gap there, which shifts only the elements between the old and new gap
+ * positions, and then fills or widens the gap in O(1). A burst of edits at or
+ * near one position is therefore amortized O(1) per edit, while get stays
+ * O(1) and sequential gets walk the array in order.
+ *
+ * @author Madison Schlaff
+ * @version 1.0
+ *
+ */
+public class GapBufferList<T> {
+
+    /**
+     * The initial capacity of the GapBufferList.
+     */
+    public static final int INITIAL_CAPACITY = 9;
+
+    private T[] backingArray;
+    private int gapStart;
+    private int gapEnd;
+    private int size;
+
+    /**
+     * Constructs a new GapBufferList whose gap fills the whole backing array.
+     */
+    public GapBufferList() {
+        backingArray = (T[]) new Object[INITIAL_CAPACITY];
+        gapStart = 0;
+        gapEnd = INITIAL_CAPACITY;
+        size = 0;
+    }
+
+    /**
+     * Adds the element to the specified index.
+     *
+     * Must be amortized O(1) plus O(d), where d is the distance from the
+     * index of the previous add or remove.
+     *
+     * @param index the index at which to add the new element
+     * @param data  the data to add at the specified index
+     * @throws java.lang.IndexOutOfBoundsException if index < 0 or index > size
+     * @throws java.lang.IllegalArgumentException  if data is null
+     */
+    public void addAtIndex(int index, T data) {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("Index is < 0 or index > size.");
+        }
+        if (data == null) {
+            throw new IllegalArgumentException("Data can't be null");
+        }
+        if (gapStart == gapEnd) {
+            resize();
+        }
+        moveGap(index);
+        backingArray[gapStart] = data;
+        gapStart += 1;
+        size += 1;
+    }
+
+    /**
+     * Adds the element to the front of the list.
+     *
+     * @param data the data to add to the front of the list
+     * @throws java.lang.IllegalArgumentException if data is null
+     */
+    public void addToFront(T data) {
+        addAtIndex(0, data);
+    }
+
+    /**
+     * Adds the element to the back of the list.
+     *
+     * @param data the data to add to the back of the list
+     * @throws java.lang.IllegalArgumentException if data is null
+     */
+    public void addToBack(T data) {
+        addAtIndex(size, data);
+    }
+
+    /**
+     * Removes and returns the element at the specified index.
+     *
+     * Must be O(1) plus O(d), where d is the distance from the index of the
+     * previous add or remove.
+     *
+     * @param index the index of the element to remove
+     * @return the data formerly located at the specified index
+     * @throws java.lang.IndexOutOfBoundsException if index < 0 or index >= size
+     */
+    public T removeAtIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index is < 0 or index >= size.");
+        }
+        moveGap(index);
+        // the element at index is now right after the gap
+        T removed = backingArray[gapEnd];
+        backingArray[gapEnd] = null;
+        gapEnd += 1;
+        size -= 1;
+        return removed;
+    }
+
+    /**
+     * Removes and returns the first element of the list.
+     *
+     * @return the data formerly located at the front of the list
+     * @throws java.util.NoSuchElementException if the list is empty
+     */
+    public T removeFromFront() {
+        if (isEmpty()) {
+            throw new NoSuchElementException("Gap buffer list is empty.");
+        }
+        return removeAtIndex(0);
+    }
+
+    /**
+     * Removes and returns the last element of the list.
+     *
+     * @return the data formerly located at the back of the list
+     * @throws java.util.NoSuchElementException if the list is empty
+     */
+    public T removeFromBack() {
+        if (isEmpty()) {
+            throw new NoSuchElementException("Gap buffer list is empty.");
+        }
+        return removeAtIndex(size - 1);
+    }
+
+    /**
+     * Returns the element at the specified index.
+     *
+     * Must be O(1).
+     *
+     * @param index the index of the element to get
+     * @return the data stored at the index in the list
+     * @throws java.lang.IndexOutOfBoundsException if index < 0 or index >= size
+     */
+    public T get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index is < 0 or index >= size.");
+        }
+        return backingArray[index < gapStart ? index : index + gapEnd - gapStart];
+    }
+
+    /**
+     * Returns whether or not the list is empty.
+     *
+     * Must be O(1).
+     *
+     * @return true if empty, false otherwise
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Clears the list.
+     *
+     * Resets the backing array to a new array of the initial capacity and
+     * resets the size.
+     *
+     * Must be O(1).
+     */
+    public void clear() {
+        backingArray = (T[]) new Object[INITIAL_CAPACITY];
+        gapStart = 0;
+        gapEnd = INITIAL_CAPACITY;
+        size = 0;
+    }
+
+    /**
+     * Moves the gap so that it starts at index, shifting the elements
+     * between the old and new positions across it with one copy. The slots
+     * those elements leave become part of the gap and are cleared.
+     *
+     * @param index index into the list the gap should start at
+     */
+    private void moveGap(int index) {
+        int gapLength = gapEnd - gapStart;
+        if (index < gapStart) {
+            int moved = gapStart - index;
+            System.arraycopy(backingArray, index, backingArray, gapEnd - moved, moved);
+            Arrays.fill(backingArray, index, Math.min(gapStart, gapEnd - moved), null);
+        } else if (index > gapStart) {
+            int moved = index - gapStart;
+            System.arraycopy(backingArray, gapEnd, backingArray, gapStart, moved);
+            Arrays.fill(backingArray, Math.max(gapEnd, index), gapEnd + moved, null);
+        }
+        gapStart = index;
+        gapEnd = index + gapLength;
+    }
+
+    /**
+     * Doubles the backing array, keeping the gap where it is and widening it
+     * by the added length.
+     */
+    private void resize() {
+        int length = backingArray.length;
+        int newLength = Math.max(2 * length, INITIAL_CAPACITY);
+        T[] newArr = (T[]) new Object[newLength];
+        int after = length - gapEnd;
+        System.arraycopy(backingArray, 0, newArr, 0, gapStart);
+        System.arraycopy(backingArray, gapEnd, newArr, newLength - after, after);
+        backingArray = newArr;
+        gapEnd = newLength - after;
+    }
+
+    /**
+     * Returns the backing array of the list. The elements are in order,
+     * interrupted by an empty gap.
+     *
+     * @return the backing array of the list
+     */
+    public T[] getBackingArray() {
+        return backingArray;
+    }
+
+    /**
+     * Returns the size of the list.
+     *
+     * @return the size of the list
+     */
+    public int size() {
+        return size;
+    }
+}
@@ -0,0 +1,277 @@
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * An ArrayList specialized for primitive ints.
+ *
+ * Elements are stored directly in an int[], so adding and getting never box
+ * and each element takes 4 bytes. Shifting and resizing use System.arraycopy,
+ * and the bulk helpers are simple counted loops over the backing array that
+ * the JIT can vectorize.
+ *
+ * @author Madison Schlaff
+ * @version 1.0
+ *
+ */
+public class IntArrayList {
+
+    /**
+     * The initial capacity of the list.
+     */
+    public static final int INITIAL_CAPACITY = 9;
+
+    private int[] backingArray;
+    private int size;
+
+    /**
+     * Constructs a new IntArrayList with a backing array of INITIAL_CAPACITY.
+     */
+    public IntArrayList() {
+        backingArray = new int[INITIAL_CAPACITY];
+        size = 0;
+    }
+
+    /**
+     * Adds the element to the specified index, shifting later elements back.
+     *
+     * Must be amortized O(1) for index size and O(n) for all other cases.
+     *
+     * @param index the index at which to add the new element
+     * @param data  the data to add at the specified index
+     * @throws java.lang.IndexOutOfBoundsException if index < 0 or index > size
+     */
+    public void addAtIndex(int index, int data) {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("Index is < 0 or index > size.");
+        }
+        if (size == backingArray.length) {
+            resize(size + 1);
+        }
+        System.arraycopy(backingArray, index, backingArray, index + 1, size - index);
+        backingArray[index] = data;
+        size += 1;
+    }
+
+    /**
+     * Adds the element to the front of the list.
+     *
+     * Must be O(n).
+     *
+     * @param data the data to add to the front of the list
+     */
+    public void addToFront(int data) {
+        addAtIndex(0, data);
+    }
+
+    /**
+     * Adds the element to the back of the list.
+     *
+     * Must be amortized O(1).
+     *
+     * @param data the data to add to the back of the list
+     */
+    public void addToBack(int data) {
+        if (size == backingArray.length) {
+            resize(size + 1);
+        }
+        backingArray[size] = data;
+        size += 1;
+    }
+
+    /**
+     * Adds every element of data to the back of the list, in order, with at
+     * most one resize.
+     *
+     * @param data the elements to add
+     * @throws java.lang.IllegalArgumentException if data is null
+     */
+    public void addAll(int[] data) {
+        if (data == null) {
+            throw new IllegalArgumentException("Data can't be null");
+        }
+        if (size + data.length > backingArray.length) {
+            resize(size + data.length);
+        }
+        System.arraycopy(data, 0, backingArray, size, data.length);
+        size += data.length;
+    }
+
+    /**
+     * Removes and returns the element at the specified index, shifting later
+     * elements forward.
+     *
+     * Must be O(1) for index size - 1 and O(n) for all other cases.
+     *
+     * @param index the index of the element to remove
+     * @return the data formerly located at the specified index
+     * @throws java.lang.IndexOutOfBoundsException if index < 0 or index >= size
+     */
+    public int removeAtIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index is < 0 or index >= size.");
+        }
+        int removed = backingArray[index];
+        System.arraycopy(backingArray, index + 1, backingArray, index, size - index - 1);
+        size -= 1;
+        return removed;
+    }
+
+    /**
+     * Removes and returns the first element of the list.
+     *
+     * Must be O(n).
+     *
+     * @return the data formerly located at the front of the list
+     * @throws java.util.NoSuchElementException if the list is empty
+     */
+    public int removeFromFront() {
+        if (isEmpty()) {
+            throw new NoSuchElementException("Array list is empty.");
+        }
+        return removeAtIndex(0);
+    }
+
+    /**
+     * Removes and returns the last element of the list.
+     *
+     * Must be O(1).
+     *
+     * @return the data formerly located at the back of the list
+     * @throws java.util.NoSuchElementException if the list is empty
+     */
+    public int removeFromBack() {
+        if (isEmpty()) {
+            throw new NoSuchElementException("Array list is empty.");
+        }
+        size -= 1;
+        return backingArray[size];
+    }
+
+    /**
+     * Returns the element at the specified index.
+     *
+     * Must be O(1).
+     *
+     * @param index the index of the element to get
+     * @return the data stored at the index in the list
+     * @throws java.lang.IndexOutOfBoundsException if index < 0 or index >= size
+     */
+    public int get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index is < 0 or index >= size.");
+        }
+        return backingArray[index];
+    }
+
+    /**
+     * Returns a copy of the elements of the list, in order.
+     *
+     * @return a new array of length size
+     */
+    public int[] toArray() {
+        return Arrays.copyOf(backingArray, size);
+    }
+
+    /**
+     * Returns the sum of the elements. The sum is accumulated in a long, so
+     * it does not overflow for fewer than 2^32 elements.
+     *
+     * @return the sum of the elements, or 0 if the list is empty
+     */
+    public long sum() {
+        int[] array = backingArray;
+        long sum = 0;
+        for (int i = 0; i < size; i++) {
+            sum += array[i];
+        }
+        return sum;
+    }
+
+    /**
+     * Returns the smallest element.
+     *
+     * @return the smallest element
+     * @throws java.util.NoSuchElementException if the list is empty
+     */
+    public int min() {
+        if (isEmpty()) {
+            throw new NoSuchElementException("Array list is empty.");
+        }
+        int[] array = backingArray;
+        int min = array[0];
+        for (int i = 1; i < size; i++) {
+            min = Math.min(min, array[i]);
+        }
+        return min;
+    }
+
+    /**
+     * Returns the largest element.
+     *
+     * @return the largest element
+     * @throws java.util.NoSuchElementException if the list is empty
+     */
+    public int max() {
+        if (isEmpty()) {
+            throw new NoSuchElementException("Array list is empty.");
+        }
+        int[] array = backingArray;
+        int max = array[0];
+        for (int i = 1; i < size; i++) {
+            max = Math.max(max, array[i]);
+        }
+        return max;
+    }
+
+    /**
+     * Returns whether or not the list is empty.
+     *
+     * Must be O(1).
+     *
+     * @return true if empty, false otherwise
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Clears the list.
+     *
+     * Resets the backing array to a new array of the initial capacity and
+     * resets the size.
+     *
+     * Must be O(1).
+     */
+    public void clear() {
+        backingArray = new int[INITIAL_CAPACITY];
+        size = 0;
+    }
+
+    /**
+     * Doubles the backing array, or grows it to minCapacity if that is
+     * larger.
+     *
+     * @param minCapacity the smallest capacity the list needs
+     */
+    private void resize(int minCapacity) {
+        backingArray = Arrays.copyOf(backingArray, Math.max(backingArray.length * 2, minCapacity));
+    }
+
+    /**
+     * Returns the backing array of the list.
+     *
+     * @return the backing array of the list
+     */
+    public int[] getBackingArray() {
+        return backingArray;
+    }
+
+    /**
+     * Returns the size of the list.
+     *
+     * @return the size of the list
+     */
+    public int size() {
+        return size;
+    }
+}
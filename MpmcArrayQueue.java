@@ -0,0 +1,174 @@
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.function.Consumer;
+
+/**
+ * A bounded, lock-free queue for any number of producer and consumer
+ * threads.
+ *
+ * Elements are kept in a power-of-two ring indexed by ever-increasing head
+ * and tail counters, as in SpscArrayQueue. Each slot also has a sequence
+ * number saying whose turn it is: a slot whose sequence equals the tail is
+ * free for the producer that claims that tail, and one whose sequence is one
+ * past the head holds an element for the consumer that claims that head.
+ * Producers and consumers claim counters with a CAS and then hand the slot
+ * over with a release write of its sequence, so a thread only ever contends
+ * with threads on the same end, and never blocks.
+ *
+ * offer returns false instead of blocking when the queue is full, so the
+ * producer can back off.
+ *
+ * @author Madison Schlaff
+ * @version 1.0
+ *
+ */
+public class MpmcArrayQueue<T> {
+
+    private static final VarHandle SEQUENCES = MethodHandles.arrayElementVarHandle(long[].class);
+
+    private final T[] buffer;
+    private final long[] sequences;
+    private final int mask;
+    private final PaddedSequence tail = new PaddedSequence();
+    private final PaddedSequence head = new PaddedSequence();
+
+    /**
+     * Constructs a new MpmcArrayQueue that holds at least capacity elements.
+     * The capacity is rounded up to a power of two, and to at least 2.
+     *
+     * @param capacity the minimum number of elements the queue can hold
+     * @throws java.lang.IllegalArgumentException if capacity is not positive
+     * or is more than 2^30
+     */
+    public MpmcArrayQueue(int capacity) {
+        if (capacity <= 0 || capacity > (1 << 30)) {
+            throw new IllegalArgumentException("Capacity must be between 1 and 2^30.");
+        }
+        int length = capacity <= 2 ? 2 : Integer.highestOneBit(capacity - 1) << 1;
+        buffer = (T[]) new Object[length];
+        sequences = new long[length];
+        for (int i = 0; i < length; i++) {
+            sequences[i] = i;
+        }
+        mask = length - 1;
+    }
+
+    /**
+     * Adds the element to the back of the queue if there is room.
+     *
+     * @param data the data to add
+     * @return true if the element was added, false if the queue was full
+     * @throws java.lang.IllegalArgumentException if data is null
+     */
+    public boolean offer(T data) {
+        if (data == null) {
+            throw new IllegalArgumentException("Data can't be null.");
+        }
+        long index = tail.getAcquire();
+        while (true) {
+            int slot = (int) index & mask;
+            long sequence = (long) SEQUENCES.getAcquire(sequences, slot);
+            if (sequence == index) {
+                if (tail.compareAndSet(index, index + 1)) {
+                    buffer[slot] = data;
+                    SEQUENCES.setRelease(sequences, slot, index + 1);
+                    return true;
+                }
+                index = tail.getAcquire();
+            } else if (sequence < index) {
+                // the slot still holds the element from one lap ago
+                return false;
+            } else {
+                // another producer claimed this tail first
+                index = tail.getAcquire();
+            }
+        }
+    }
+
+    /**
+     * Removes and returns the element at the front of the queue.
+     *
+     * @return the removed element, or null if the queue was empty
+     */
+    public T poll() {
+        long index = head.getAcquire();
+        while (true) {
+            int slot = (int) index & mask;
+            long sequence = (long) SEQUENCES.getAcquire(sequences, slot);
+            if (sequence == index + 1) {
+                if (head.compareAndSet(index, index + 1)) {
+                    T data = buffer[slot];
+                    buffer[slot] = null;
+                    // free the slot for the producer one lap ahead
+                    SEQUENCES.setRelease(sequences, slot, index + buffer.length);
+                    return data;
+                }
+                index = head.getAcquire();
+            } else if (sequence < index + 1) {
+                // the slot's element hasn't been published yet
+                return null;
+            } else {
+                // another consumer claimed this head first
+                index = head.getAcquire();
+            }
+        }
+    }
+
+    /**
+     * Removes up to limit elements from the front of the queue and passes
+     * them to action. Elements are removed one at a time, so with other
+     * consumers running they may not be consecutive.
+     *
+     * @param action receives each removed element
+     * @param limit the most elements to remove
+     * @return the number of elements removed
+     * @throws java.lang.IllegalArgumentException if action is null or limit
+     * is negative
+     */
+    public int drainTo(Consumer<? super T> action, int limit) {
+        if (action == null || limit < 0) {
+            throw new IllegalArgumentException("Action is null or limit is negative.");
+        }
+        int drained = 0;
+        while (drained < limit) {
+            T data = poll();
+            if (data == null) {
+                break;
+            }
+            drained += 1;
+            action.accept(data);
+        }
+        return drained;
+    }
+
+    /**
+     * Returns the number of elements in the queue. Since other threads may
+     * be running, this is only a snapshot.
+     *
+     * @return the size of the queue
+     */
+    public int size() {
+        long consumed = head.getAcquire();
+        long produced = tail.getAcquire();
+        return (int) Math.max(0, Math.min(buffer.length, produced - consumed));
+    }
+
+    /**
+     * Returns whether or not the queue is empty. Like size, this is only a
+     * snapshot.
+     *
+     * @return true if empty, false otherwise
+     */
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Returns the number of elements the queue can hold.
+     *
+     * @return the capacity of the queue
+     */
+    public int capacity() {
+        return buffer.length;
+    }
+}
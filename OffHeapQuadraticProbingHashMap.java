@@ -0,0 +1,591 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.NoSuchElementException;
+
+/**
+ * A QuadraticProbingHashMap whose slots live outside the Java heap.
+ *
+ * Keys and values are stored as fixed-width byte records produced by a
+ * RecordCodec, so the garbage collector never sees the table. Each slot is
+ * one state byte (empty, live or removed) followed by the key record and the
+ * value record. Slots are spread over chunks of at most 1 GB, so a table can
+ * hold far more data than a single ByteBuffer can address.
+ *
+ * A map is either backed by direct memory, in which case it grows like
+ * QuadraticProbingHashMap, or backed by a memory-mapped file. A mapped
+ * table has a fixed capacity chosen when the file is created, and reopening
+ * the file later restores the table immediately, without reinserting
+ * anything. Keys are hashed from their encoded bytes, so a mapped table
+ * stays valid across processes.
+ *
+ * Not thread-safe: lookups reuse a scratch buffer to encode the key.
+ *
+ * @author Madison Schlaff
+ * @version 1.0
+ *
+ */
+public class OffHeapQuadraticProbingHashMap<K, V> implements AutoCloseable {
+
+    /**
+     * The initial capacity of a direct-memory map when created without one.
+     */
+    public static final int INITIAL_CAPACITY = 13;
+
+    /**
+     * The max load factor of the map.
+     */
+    private static final double MAX_LOAD_FACTOR = 0.67;
+
+    /**
+     * Slot states stored in the first byte of each slot.
+     */
+    private static final byte EMPTY = 0;
+    private static final byte LIVE = 1;
+    private static final byte REMOVED = 2;
+
+    /**
+     * Layout of the header at the start of a mapped file.
+     */
+    private static final int MAGIC = 0x51504f48;
+    private static final int HEADER_BYTES = 32;
+    private static final int MAGIC_OFFSET = 0;
+    private static final int KEY_WIDTH_OFFSET = 4;
+    private static final int VALUE_WIDTH_OFFSET = 8;
+    private static final int CAPACITY_OFFSET = 12;
+    private static final int SIZE_OFFSET = 16;
+    private static final int TOMBSTONES_OFFSET = 20;
+
+    /**
+     * The most bytes a single chunk may hold.
+     */
+    private static final int MAX_CHUNK_BYTES = 1 << 30;
+
+    private final RecordCodec<K> keyCodec;
+    private final RecordCodec<V> valueCodec;
+    private final int keyWidth;
+    private final int slotWidth;
+    private final int slotsPerChunk;
+    private final ByteBuffer scratch;
+    private final ByteBuffer header;
+    private ByteBuffer[] chunks;
+    private int capacity;
+    private int size;
+    private int tombstones;
+
+    /**
+     * Constructs a new map in direct memory with a capacity of
+     * INITIAL_CAPACITY.
+     *
+     * @param keyCodec codec for keys
+     * @param valueCodec codec for values
+     * @throws java.lang.IllegalArgumentException if either codec is null
+     */
+    public OffHeapQuadraticProbingHashMap(RecordCodec<K> keyCodec, RecordCodec<V> valueCodec) {
+        this(keyCodec, valueCodec, INITIAL_CAPACITY);
+    }
+
+    /**
+     * Constructs a new map in direct memory.
+     *
+     * @param keyCodec codec for keys
+     * @param valueCodec codec for values
+     * @param initialCapacity the initial number of slots
+     * @throws java.lang.IllegalArgumentException if either codec is null or
+     * initialCapacity is not positive
+     */
+    public OffHeapQuadraticProbingHashMap(RecordCodec<K> keyCodec, RecordCodec<V> valueCodec,
+                                          int initialCapacity) {
+        if (keyCodec == null || valueCodec == null) {
+            throw new IllegalArgumentException("Codecs can't be null.");
+        }
+        if (initialCapacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive.");
+        }
+        this.keyCodec = keyCodec;
+        this.valueCodec = valueCodec;
+        keyWidth = keyCodec.width();
+        slotWidth = 1 + keyWidth + valueCodec.width();
+        slotsPerChunk = MAX_CHUNK_BYTES / slotWidth;
+        scratch = ByteBuffer.allocate(keyWidth);
+        header = null;
+        capacity = initialCapacity;
+        chunks = allocateChunks(initialCapacity);
+    }
+
+    /**
+     * Opens the map stored in file, or creates it with the given capacity if
+     * the file doesn't exist or is empty.
+     *
+     * When an existing file is opened its capacity is used and the capacity
+     * argument is ignored; the codecs must have the same widths the file was
+     * written with.
+     *
+     * @param file the file backing the map
+     * @param keyCodec codec for keys
+     * @param valueCodec codec for values
+     * @param capacity the number of slots if the file is created
+     * @throws java.io.IOException if the file can't be opened or mapped
+     * @throws java.lang.IllegalArgumentException if any argument is null,
+     * capacity is not positive, or the file was not written by this class
+     * with codecs of the same widths
+     */
+    public OffHeapQuadraticProbingHashMap(Path file, RecordCodec<K> keyCodec, RecordCodec<V> valueCodec,
+                                          int capacity) throws IOException {
+        if (file == null || keyCodec == null || valueCodec == null) {
+            throw new IllegalArgumentException("File and codecs can't be null.");
+        }
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive.");
+        }
+        this.keyCodec = keyCodec;
+        this.valueCodec = valueCodec;
+        keyWidth = keyCodec.width();
+        slotWidth = 1 + keyWidth + valueCodec.width();
+        slotsPerChunk = MAX_CHUNK_BYTES / slotWidth;
+        scratch = ByteBuffer.allocate(keyWidth);
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            boolean existing = channel.size() > 0;
+            if (existing) {
+                MappedByteBuffer stored = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_BYTES);
+                if (stored.getInt(MAGIC_OFFSET) != MAGIC
+                        || stored.getInt(KEY_WIDTH_OFFSET) != keyWidth
+                        || stored.getInt(VALUE_WIDTH_OFFSET) != valueCodec.width()) {
+                    throw new IllegalArgumentException("File doesn't hold a map with these codecs.");
+                }
+                header = stored;
+                this.capacity = stored.getInt(CAPACITY_OFFSET);
+                size = stored.getInt(SIZE_OFFSET);
+                tombstones = stored.getInt(TOMBSTONES_OFFSET);
+            } else {
+                header = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_BYTES);
+                header.putInt(MAGIC_OFFSET, MAGIC);
+                header.putInt(KEY_WIDTH_OFFSET, keyWidth);
+                header.putInt(VALUE_WIDTH_OFFSET, valueCodec.width());
+                header.putInt(CAPACITY_OFFSET, capacity);
+                this.capacity = capacity;
+            }
+            chunks = new ByteBuffer[chunkCount(this.capacity)];
+            long position = HEADER_BYTES;
+            for (int i = 0; i < chunks.length; i++) {
+                long bytes = (long) chunkSlots(i, this.capacity) * slotWidth;
+                chunks[i] = channel.map(FileChannel.MapMode.READ_WRITE, position, bytes);
+                position += bytes;
+            }
+        }
+    }
+
+    /**
+     * Adds the given key-value pair to the map. If the map already has this
+     * key, replace its value with the new one passed in.
+     *
+     * A direct-memory map resizes to 2 * old capacity + 1 before adding a
+     * new key if the add would violate the max load factor. A mapped map
+     * can't grow, so it throws instead. Replacing the value of a key that is
+     * already in the map never resizes, so it works on a full mapped map.
+     *
+     * @param key the key to add
+     * @param value the value to add
+     * @return null if the key was not already in the map. If it was in the
+     * map, return the old value associated with it
+     * @throws java.lang.IllegalArgumentException if key or value is null
+     * @throws java.lang.IllegalStateException if the map is mapped from a
+     * file and is full
+     */
+    public V put(K key, V value) {
+        if (value == null || key == null) {
+            throw new IllegalArgumentException("Key is null or value is null.");
+        }
+        int hash = encode(key);
+        int index = findSlot(hash);
+        if (index != -1) {
+            ByteBuffer chunk = chunks[index / slotsPerChunk];
+            int offset = (index % slotsPerChunk) * slotWidth;
+            if (chunk.get(offset) == LIVE) {
+                V old = valueCodec.read(chunk, offset + 1 + keyWidth);
+                valueCodec.write(value, chunk, offset + 1 + keyWidth);
+                return old;
+            }
+        }
+        // only a new key adds to the load
+        if (index == -1 || (size + 1.0) / capacity > MAX_LOAD_FACTOR) {
+            grow();
+            index = findSlot(hash);
+            while (index == -1) {
+                grow();
+                index = findSlot(hash);
+            }
+        }
+        ByteBuffer chunk = chunks[index / slotsPerChunk];
+        int offset = (index % slotsPerChunk) * slotWidth;
+        if (chunk.get(offset) == REMOVED) {
+            tombstones -= 1;
+        }
+        for (int i = 0; i < keyWidth; i++) {
+            chunk.put(offset + 1 + i, scratch.get(i));
+        }
+        valueCodec.write(value, chunk, offset + 1 + keyWidth);
+        chunk.put(offset, LIVE);
+        size += 1;
+        writeCounts();
+        return null;
+    }
+
+    /**
+     * Removes the entry with a matching key from the map by marking its slot
+     * as removed.
+     *
+     * @param key the key to remove
+     * @return the value previously associated with the key
+     * @throws java.lang.IllegalArgumentException if key is null
+     * @throws java.util.NoSuchElementException if the key is not in the map
+     */
+    public V remove(K key) {
+        if (key == null) {
+            throw new IllegalArgumentException("Key can't be null.");
+        }
+        int index = indexOf(encode(key));
+        if (index == -1) {
+            throw new NoSuchElementException("Key wasn't found in the map :(");
+        }
+        ByteBuffer chunk = chunks[index / slotsPerChunk];
+        int offset = (index % slotsPerChunk) * slotWidth;
+        V removed = valueCodec.read(chunk, offset + 1 + keyWidth);
+        chunk.put(offset, REMOVED);
+        size -= 1;
+        tombstones += 1;
+        writeCounts();
+        return removed;
+    }
+
+    /**
+     * Gets the value associated with the given key.
+     *
+     * @param key the key to search for in the map
+     * @return the value associated with the given key
+     * @throws java.lang.IllegalArgumentException if key is null
+     * @throws java.util.NoSuchElementException if the key is not in the map
+     */
+    public V get(K key) {
+        V value = getOrNull(key);
+        if (value == null) {
+            throw new NoSuchElementException("Key wasn't found in the map :(");
+        }
+        return value;
+    }
+
+    /**
+     * Gets the value associated with the given key, or null if the key is not
+     * in the map.
+     *
+     * @param key the key to search for in the map
+     * @return the value associated with the given key, or null
+     * @throws java.lang.IllegalArgumentException if key is null
+     */
+    public V getOrNull(K key) {
+        if (key == null) {
+            throw new IllegalArgumentException("Key can't be null.");
+        }
+        int index = indexOf(encode(key));
+        if (index == -1) {
+            return null;
+        }
+        return valueCodec.read(chunks[index / slotsPerChunk], (index % slotsPerChunk) * slotWidth + 1 + keyWidth);
+    }
+
+    /**
+     * Returns whether or not the key is in the map.
+     *
+     * @param key the key to search for in the map
+     * @return true if the key is contained within the map, false
+     * otherwise
+     * @throws java.lang.IllegalArgumentException if key is null
+     */
+    public boolean containsKey(K key) {
+        if (key == null) {
+            throw new IllegalArgumentException("Key can't be null.");
+        }
+        return indexOf(encode(key)) != -1;
+    }
+
+    /**
+     * Returns the size of the map.
+     *
+     * @return the size of the map
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the number of slots in the table.
+     *
+     * @return the capacity of the table
+     */
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * Returns whether or not the map is empty.
+     *
+     * @return true if empty, false otherwise
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Writes any changes to a mapped map out to its file. Does nothing for a
+     * direct-memory map.
+     */
+    public void force() {
+        if (header != null) {
+            ((MappedByteBuffer) header).force();
+            for (ByteBuffer chunk : chunks) {
+                ((MappedByteBuffer) chunk).force();
+            }
+        }
+    }
+
+    /**
+     * Forces any changes out to the file and drops the map's references to
+     * its memory. The map must not be used afterwards.
+     */
+    @Override
+    public void close() {
+        force();
+        chunks = new ByteBuffer[0];
+        capacity = 0;
+    }
+
+    /**
+     * Encodes key into the scratch buffer and hashes the encoded bytes.
+     *
+     * @param key key to encode
+     * @return non-negative hash of the key's bytes
+     */
+    private int encode(K key) {
+        keyCodec.write(key, scratch, 0);
+        return hashScratch();
+    }
+
+    /**
+     * Hashes the key record in the scratch buffer with FNV-1a.
+     *
+     * @return non-negative hash of the scratch buffer
+     */
+    private int hashScratch() {
+        int h = 0x811c9dc5;
+        for (int i = 0; i < keyWidth; i++) {
+            h = (h ^ scratch.get(i)) * 0x01000193;
+        }
+        h ^= h >>> 16;
+        return h & Integer.MAX_VALUE;
+    }
+
+    /**
+     * Returns whether the key record of the slot at offset matches the
+     * scratch buffer.
+     *
+     * @param chunk chunk holding the slot
+     * @param offset offset of the slot in the chunk
+     * @return true if the keys are equal
+     */
+    private boolean keyMatches(ByteBuffer chunk, int offset) {
+        int i = 0;
+        for (; i + Long.BYTES <= keyWidth; i += Long.BYTES) {
+            if (chunk.getLong(offset + 1 + i) != scratch.getLong(i)) {
+                return false;
+            }
+        }
+        for (; i < keyWidth; i++) {
+            if (chunk.get(offset + 1 + i) != scratch.get(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Finds the live slot holding the key in the scratch buffer.
+     *
+     * @param hash hash of the key
+     * @return index of the slot, or -1 if the key is not in the map
+     */
+    private int indexOf(int hash) {
+        int index = hash % capacity;
+        for (int i = 1; i <= capacity; i++) {
+            ByteBuffer chunk = chunks[index / slotsPerChunk];
+            int offset = (index % slotsPerChunk) * slotWidth;
+            byte state = chunk.get(offset);
+            if (state == EMPTY) {
+                return -1;
+            }
+            if (state == LIVE && keyMatches(chunk, offset)) {
+                return index;
+            }
+            index = (int) ((index + 2L * i - 1) % capacity);
+        }
+        return -1;
+    }
+
+    /**
+     * Finds the slot the key in the scratch buffer should be written to: the
+     * live slot already holding it, or else the first removed or empty slot
+     * on its probe sequence.
+     *
+     * @param hash hash of the key
+     * @return slot to store at, or -1 if no valid spot was found
+     */
+    private int findSlot(int hash) {
+        int index = hash % capacity;
+        int firstRemoved = -1;
+        for (int i = 1; i <= capacity; i++) {
+            ByteBuffer chunk = chunks[index / slotsPerChunk];
+            int offset = (index % slotsPerChunk) * slotWidth;
+            byte state = chunk.get(offset);
+            if (state == EMPTY) {
+                return firstRemoved == -1 ? index : firstRemoved;
+            }
+            if (state == LIVE) {
+                if (keyMatches(chunk, offset)) {
+                    return index;
+                }
+            } else if (firstRemoved == -1) {
+                firstRemoved = index;
+            }
+            index = (int) ((index + 2L * i - 1) % capacity);
+        }
+        return firstRemoved;
+    }
+
+    /**
+     * Rehashes a direct-memory map into 2 * capacity + 1 slots, dropping
+     * removed entries. The scratch buffer is restored afterwards, since
+     * rehashing reuses it.
+     *
+     * Quadratic probing doesn't reach every slot of a 2n + 1 capacity, so if
+     * an entry finds no empty slot, the rehash starts over at the next
+     * capacity. The map's fields are replaced only once every entry fits.
+     *
+     * @throws java.lang.IllegalStateException if the map is mapped from a file
+     */
+    private void grow() {
+        if (header != null) {
+            throw new IllegalStateException("Mapped map is full.");
+        }
+        byte[] pending = new byte[keyWidth];
+        scratch.get(0, pending);
+        int newCapacity = 2 * capacity + 1;
+        ByteBuffer[] newChunks = rehashInto(newCapacity);
+        while (newChunks == null) {
+            newCapacity = 2 * newCapacity + 1;
+            newChunks = rehashInto(newCapacity);
+        }
+        chunks = newChunks;
+        capacity = newCapacity;
+        tombstones = 0;
+        scratch.put(0, pending);
+    }
+
+    /**
+     * Copies every live entry into new direct chunks with the given number
+     * of slots, leaving the map itself untouched.
+     *
+     * @param slots number of slots in the new chunks
+     * @return the new chunks, or null if an entry found no empty slot
+     */
+    private ByteBuffer[] rehashInto(int slots) {
+        ByteBuffer[] target = allocateChunks(slots);
+        for (int index = 0; index < capacity; index++) {
+            ByteBuffer chunk = chunks[index / slotsPerChunk];
+            int offset = (index % slotsPerChunk) * slotWidth;
+            if (chunk.get(offset) == LIVE) {
+                for (int i = 0; i < keyWidth; i++) {
+                    scratch.put(i, chunk.get(offset + 1 + i));
+                }
+                int slot = emptySlot(hashScratch(), target, slots);
+                if (slot == -1) {
+                    return null;
+                }
+                ByteBuffer targetChunk = target[slot / slotsPerChunk];
+                int targetOffset = (slot % slotsPerChunk) * slotWidth;
+                for (int i = 0; i < slotWidth; i++) {
+                    targetChunk.put(targetOffset + i, chunk.get(offset + i));
+                }
+            }
+        }
+        return target;
+    }
+
+    /**
+     * Finds the first empty slot on a hash's probe sequence in chunks being
+     * filled by a rehash, which hold no removed slots or duplicate keys.
+     *
+     * @param hash hash of the key
+     * @param target chunks to probe
+     * @param slots number of slots in the chunks
+     * @return the empty slot, or -1 if the probe sequence reaches none
+     */
+    private int emptySlot(int hash, ByteBuffer[] target, int slots) {
+        int index = hash % slots;
+        for (int i = 1; i <= slots; i++) {
+            if (target[index / slotsPerChunk].get((index % slotsPerChunk) * slotWidth) == EMPTY) {
+                return index;
+            }
+            index = (int) ((index + 2L * i - 1) % slots);
+        }
+        return -1;
+    }
+
+    /**
+     * Stores size and tombstone counts in the file header of a mapped map.
+     */
+    private void writeCounts() {
+        if (header != null) {
+            header.putInt(SIZE_OFFSET, size);
+            header.putInt(TOMBSTONES_OFFSET, tombstones);
+        }
+    }
+
+    /**
+     * Allocates zeroed direct chunks for the given number of slots.
+     *
+     * @param slots number of slots
+     * @return the chunks
+     */
+    private ByteBuffer[] allocateChunks(int slots) {
+        ByteBuffer[] allocated = new ByteBuffer[chunkCount(slots)];
+        for (int i = 0; i < allocated.length; i++) {
+            allocated[i] = ByteBuffer.allocateDirect(chunkSlots(i, slots) * slotWidth);
+        }
+        return allocated;
+    }
+
+    /**
+     * Returns how many chunks it takes to hold the given number of slots.
+     *
+     * @param slots number of slots
+     * @return number of chunks
+     */
+    private int chunkCount(int slots) {
+        return (slots + slotsPerChunk - 1) / slotsPerChunk;
+    }
+
+    /**
+     * Returns how many slots chunk i holds when there are slots in total.
+     *
+     * @param i index of the chunk
+     * @param slots total number of slots
+     * @return number of slots in the chunk
+     */
+    private int chunkSlots(int i, int slots) {
+        return Math.min(slotsPerChunk, slots - i * slotsPerChunk);
+    }
+}
@@ -0,0 +1,97 @@
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests for OffHeapQuadraticProbingHashMap.
+ *
+ * @author Madison Schlaff
+ * @version 1.0
+ *
+ */
+public class OffHeapQuadraticProbingHashMapTest {
+
+    private static final int TIMEOUT = 2000;
+
+    @Test(timeout = TIMEOUT)
+    public void testUpdateInFullMappedMap() throws IOException {
+        Path file = Files.createTempFile("OffHeapQuadraticProbingHashMapTest", ".map");
+        Files.delete(file);
+        try (OffHeapQuadraticProbingHashMap<Integer, Integer> map = new OffHeapQuadraticProbingHashMap<>(
+                file, RecordCodec.INT, RecordCodec.INT, 100)) {
+            for (int i = 0; i < 67; i++) {
+                map.put(i, i * 10);
+            }
+            // one more key would exceed the max load factor, but replacing
+            // a value doesn't add to the load
+            assertEquals((Integer) 50, map.put(5, 500));
+            assertEquals((Integer) 500, map.get(5));
+            assertEquals(67, map.size());
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test(timeout = TIMEOUT, expected = IllegalStateException.class)
+    public void testAddToFullMappedMap() throws IOException {
+        Path file = Files.createTempFile("OffHeapQuadraticProbingHashMapTest", ".map");
+        Files.delete(file);
+        try (OffHeapQuadraticProbingHashMap<Integer, Integer> map = new OffHeapQuadraticProbingHashMap<>(
+                file, RecordCodec.INT, RecordCodec.INT, 100)) {
+            for (int i = 0; i < 67; i++) {
+                map.put(i, i * 10);
+            }
+            map.put(67, 670);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testGrowWhenProbeFindsNoSlot() {
+        // every key hashes to slot 0 of the 895 slot table the map grows to
+        // around the 300th put, where quadratic probing reaches too few
+        // slots to hold them all
+        OffHeapQuadraticProbingHashMap<Integer, Integer> map = new OffHeapQuadraticProbingHashMap<>(
+                RecordCodec.INT, RecordCodec.INT);
+        int added = 0;
+        for (int key = 0; added < 300; key++) {
+            if (hash(key) % 895 == 0) {
+                map.put(key, added);
+                added++;
+            }
+        }
+        assertEquals(300, map.size());
+        added = 0;
+        for (int key = 0; added < 300; key++) {
+            if (hash(key) % 895 == 0) {
+                assertEquals((Integer) added, map.get(key));
+                added++;
+            }
+        }
+        map.close();
+    }
+
+    /**
+     * Returns the hash the map gives an Integer key, which is FNV-1a over
+     * the key's four bytes.
+     *
+     * @param key the key to hash
+     * @return non-negative hash of the key
+     */
+    private static int hash(int key) {
+        ByteBuffer bytes = ByteBuffer.allocate(Integer.BYTES);
+        bytes.putInt(0, key);
+        int h = 0x811c9dc5;
+        for (int i = 0; i < Integer.BYTES; i++) {
+            h = (h ^ bytes.get(i)) * 0x01000193;
+        }
+        h ^= h >>> 16;
+        return h & Integer.MAX_VALUE;
+    }
+}
@@ -0,0 +1,89 @@
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+/**
+ * The padding laid out before a PaddedSequence's fields.
+ */
+abstract class PaddedSequenceLeftPad {
+    long p01, p02, p03, p04, p05, p06, p07;
+}
+
+/**
+ * The fields of a PaddedSequence, between its two paddings.
+ */
+abstract class PaddedSequenceFields extends PaddedSequenceLeftPad {
+    long value;
+    long cache;
+}
+
+/**
+ * A long counter padded on both sides so that it sits on a cache line of its
+ * own, for the head and tail indices of the concurrent queues. Without the
+ * padding, a producer writing the tail and a consumer writing the head would
+ * keep invalidating each other's cache line even though they never touch the
+ * same counter.
+ *
+ * The JVM may reorder the fields of a class, so the padding lives in the
+ * classes above and below the one holding value and cache. HotSpot lays out
+ * a superclass's fields before its subclass's, which is what the Disruptor
+ * and JCTools rely on too. The cache field is a spare for the thread that
+ * owns the counter, such as a producer's last read of the consumer's index.
+ *
+ * @author Madison Schlaff
+ * @version 1.0
+ *
+ */
+final class PaddedSequence extends PaddedSequenceFields {
+
+    private static final VarHandle VALUE;
+
+    static {
+        try {
+            VALUE = MethodHandles.lookup().findVarHandle(PaddedSequenceFields.class, "value", long.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    long p11, p12, p13, p14, p15, p16, p17;
+
+    /**
+     * Reads the counter with acquire semantics, so everything written
+     * before the matching release is visible.
+     *
+     * @return the counter
+     */
+    long getAcquire() {
+        return (long) VALUE.getAcquire(this);
+    }
+
+    /**
+     * Reads the counter without ordering, for the thread that writes it.
+     *
+     * @return the counter
+     */
+    long getPlain() {
+        return value;
+    }
+
+    /**
+     * Writes the counter with release semantics, publishing everything
+     * written before it.
+     *
+     * @param newValue the new counter
+     */
+    void setRelease(long newValue) {
+        VALUE.setRelease(this, newValue);
+    }
+
+    /**
+     * Atomically sets the counter to newValue if it is expected.
+     *
+     * @param expected the value the counter must have
+     * @param newValue the new counter
+     * @return true if the counter was set
+     */
+    boolean compareAndSet(long expected, long newValue) {
+        return VALUE.compareAndSet(this, expected, newValue);
+    }
+}
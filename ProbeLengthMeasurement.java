@@ -0,0 +1,49 @@
+/**
+ * Measures the longest probe sequence in a QuadraticProbingHashMap holding
+ * 100,000 sequential String keys ("k0", "k1", ...), with and without
+ * power-of-two tables. QUADRATIC maps run at the default max load factor
+ * and ROBIN_HOOD maps at 0.9.
+ *
+ * Run with: java ProbeLengthMeasurement
+ *
+ * @author Madison Schlaff
+ * @version 1.0
+ *
+ */
+public class ProbeLengthMeasurement {
+
+    private static final int KEYS = 100000;
+
+    /**
+     * Prints the longest probe sequence for each strategy and table mode.
+     *
+     * @param args unused
+     */
+    public static void main(String[] args) {
+        for (QuadraticProbingHashMap.ProbingStrategy strategy : QuadraticProbingHashMap.ProbingStrategy.values()) {
+            double loadFactor = strategy == QuadraticProbingHashMap.ProbingStrategy.ROBIN_HOOD ? 0.9 : 0.67;
+            System.out.println(strategy + " at load factor " + loadFactor + ": max probe length "
+                    + maxProbeLength(strategy, loadFactor, false) + " with 2n + 1 tables, "
+                    + maxProbeLength(strategy, loadFactor, true) + " with power-of-two tables");
+        }
+    }
+
+    /**
+     * Fills a map with the sequential keys and returns its longest probe
+     * sequence.
+     *
+     * @param strategy the probing strategy to use
+     * @param loadFactor the max load factor to use
+     * @param powerOfTwo whether to use power-of-two tables
+     * @return the longest probe sequence of any key
+     */
+    private static int maxProbeLength(QuadraticProbingHashMap.ProbingStrategy strategy, double loadFactor,
+                                      boolean powerOfTwo) {
+        QuadraticProbingHashMap<String, Integer> map = new QuadraticProbingHashMap<>(
+                QuadraticProbingHashMap.INITIAL_CAPACITY, strategy, loadFactor, powerOfTwo);
+        for (int i = 0; i < KEYS; i++) {
+            map.put("k" + i, i);
+        }
+        return map.probeLengthHistogram().length - 1;
+    }
+}
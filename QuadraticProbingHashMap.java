@@ -1,8 +1,22 @@
+import java.lang.management.ManagementFactory;
+import java.util.AbstractCollection;
+import java.util.AbstractSet;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Set;
 import java.util.HashSet;
+import java.util.Spliterator;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import javax.management.JMException;
+import javax.management.ObjectName;
+import javax.management.StandardMBean;
 
 /**
  * Your implementation of a QuadraticProbingHashMap.
@@ -28,9 +42,72 @@ public class QuadraticProbingHashMap<K, V> {
      */
     private static final double MAX_LOAD_FACTOR = 0.67;
 
-    // Do not add new instance variables or modify existing ones.
+    /**
+     * The longest probe sequence put will accept before growing the table,
+     * as long as the table is at least half as full as MAX_LOAD_FACTOR
+     * allows. Keeps a run of collisions from making every lookup slow.
+     */
+    private static final int MAX_PROBE_LENGTH = 64;
+
+    /**
+     * Whether maps record probe lengths and resize times for stats(), set
+     * with -DQuadraticProbingHashMap.metrics=true. Since it is a static final
+     * constant, the JIT removes the recording entirely when it is false.
+     */
+    public static final boolean METRICS_ENABLED = Boolean.getBoolean("QuadraticProbingHashMap.metrics");
+
+    /**
+     * The number of buckets in the probe-length histogram. The last bucket
+     * counts every probe sequence of MAX_PROBE_LENGTH or more.
+     */
+    private static final int HISTOGRAM_BUCKETS = MAX_PROBE_LENGTH + 1;
+
+    /**
+     * The number of old-table slots each operation moves into the new table
+     * during an incremental resize. Any value over 1 / maxLoadFactor finishes
+     * the move before the new table can fill up.
+     */
+    private static final int MIGRATION_STEP = 64;
+
+    /**
+     * Takes the place of entries that an incremental resize has moved out of
+     * the old table, so probe sequences there still pass over the slot.
+     */
+    private static final QuadraticProbingMapEntry<?, ?> MOVED = new QuadraticProbingMapEntry<>(null, null);
+
+    static {
+        MOVED.setRemoved(true);
+    }
+
+    /**
+     * How the map resolves collisions.
+     *
+     * QUADRATIC probes home + i * i and marks removed entries as removed.
+     * ROBIN_HOOD probes linearly and lets an entry that is further from its
+     * home slot take the place of one that is closer to its own. Removing
+     * shifts the following entries back a slot, so no removed entries are
+     * ever left behind. Probe lengths stay short and even, which lets the
+     * map run at a higher load factor.
+     */
+    public enum ProbingStrategy {
+        QUADRATIC, ROBIN_HOOD
+    }
+
     private QuadraticProbingMapEntry<K, V>[] table;
     private int size;
+    private int tombstones;
+    private final ProbingStrategy strategy;
+    private final double maxLoadFactor;
+    private final boolean powerOfTwo;
+    private final boolean incremental;
+    private QuadraticProbingMapEntry<K, V>[] oldTable;
+    private int migrated;
+
+    private final long[] probeCounts;
+    private int maxProbeLength;
+    private long resizeCount;
+    private long totalResizeNanos;
+    private long maxResizeNanos;
 
     /**
      * Constructs a new QuadraticProbingHashMap.
@@ -53,8 +130,97 @@ public class QuadraticProbingHashMap<K, V> {
      * @param initialCapacity the initial capacity of the backing array
      */
     public QuadraticProbingHashMap(int initialCapacity) {
-        table = new QuadraticProbingMapEntry[initialCapacity];
+        this(initialCapacity, ProbingStrategy.QUADRATIC, MAX_LOAD_FACTOR);
+    }
+
+    /**
+     * Constructs a new QuadraticProbingHashMap that resolves collisions with
+     * strategy and grows once the load factor would exceed maxLoadFactor.
+     *
+     * You may assume initialCapacity will always be positive.
+     *
+     * @param initialCapacity the initial capacity of the backing array
+     * @param strategy the probing strategy to use
+     * @param maxLoadFactor the max load factor, strictly between 0 and 1
+     * @throws java.lang.IllegalArgumentException if strategy is null or
+     * maxLoadFactor is not strictly between 0 and 1
+     */
+    public QuadraticProbingHashMap(int initialCapacity, ProbingStrategy strategy, double maxLoadFactor) {
+        this(initialCapacity, strategy, maxLoadFactor, false);
+    }
+
+    /**
+     * Constructs a new QuadraticProbingHashMap.
+     *
+     * If powerOfTwoTables is true, every table length is a power of two
+     * (initialCapacity is rounded up, and the table doubles when it grows).
+     * Slots are then picked by mixing the key's hashCode and masking it,
+     * which avoids a division on every probe and spreads out keys whose
+     * hashCodes are sequential or share low bits.
+     *
+     * You may assume initialCapacity will always be positive.
+     *
+     * @param initialCapacity the initial capacity of the backing array
+     * @param strategy the probing strategy to use
+     * @param maxLoadFactor the max load factor, strictly between 0 and 1
+     * @param powerOfTwoTables whether to use power-of-two table lengths
+     * @throws java.lang.IllegalArgumentException if strategy is null or
+     * maxLoadFactor is not strictly between 0 and 1
+     */
+    public QuadraticProbingHashMap(int initialCapacity, ProbingStrategy strategy, double maxLoadFactor,
+                                   boolean powerOfTwoTables) {
+        this(initialCapacity, strategy, maxLoadFactor, powerOfTwoTables, false);
+    }
+
+    /**
+     * Constructs a new QuadraticProbingHashMap.
+     *
+     * If incrementalResize is true, put never rehashes the whole table at
+     * once. Instead, when the table has to grow or be cleared of removed
+     * entries, a new table is allocated next to the old one, and every put,
+     * get, containsKey and remove moves the next MIGRATION_STEP slots of the
+     * old table into it. Until the move is done, lookups check both tables.
+     * This caps the work any one operation does, at the cost of a second
+     * lookup for keys that are not in the new table. Bulk operations
+     * (putAll, ensureCapacity, retainAll, resizeBackingTable), finishResize,
+     * and creating an iterator over keyView, valueView or entryView complete
+     * a move in progress at once. A put made while iterating may start a new
+     * move, after which the iterator can miss entries.
+     *
+     * Incremental resizing is only supported with QUADRATIC probing, since
+     * ROBIN_HOOD removals shift entries that a move in progress may already
+     * have passed.
+     *
+     * You may assume initialCapacity will always be positive.
+     *
+     * @param initialCapacity the initial capacity of the backing array
+     * @param strategy the probing strategy to use
+     * @param maxLoadFactor the max load factor, strictly between 0 and 1
+     * @param powerOfTwoTables whether to use power-of-two table lengths
+     * @param incrementalResize whether to spread resizes over many operations
+     * @throws java.lang.IllegalArgumentException if strategy is null,
+     * maxLoadFactor is not strictly between 0 and 1, or incrementalResize is
+     * requested with ROBIN_HOOD probing
+     */
+    public QuadraticProbingHashMap(int initialCapacity, ProbingStrategy strategy, double maxLoadFactor,
+                                   boolean powerOfTwoTables, boolean incrementalResize) {
+        if (strategy == null) {
+            throw new IllegalArgumentException("Strategy can't be null.");
+        }
+        if (!(maxLoadFactor > 0 && maxLoadFactor < 1)) {
+            throw new IllegalArgumentException("Load factor must be between 0 and 1.");
+        }
+        if (incrementalResize && strategy == ProbingStrategy.ROBIN_HOOD) {
+            throw new IllegalArgumentException("Incremental resizing requires quadratic probing.");
+        }
+        this.strategy = strategy;
+        this.maxLoadFactor = maxLoadFactor;
+        this.powerOfTwo = powerOfTwoTables;
+        this.incremental = incrementalResize;
+        table = new QuadraticProbingMapEntry[tableLength(initialCapacity)];
         size = 0;
+        tombstones = 0;
+        probeCounts = METRICS_ENABLED ? new long[HISTOGRAM_BUCKETS] : null;
     }
 
     /**
@@ -83,6 +249,14 @@ public class QuadraticProbingHashMap<K, V> {
      * When regrowing, resize the length of the backing table to
      * 2 * old length + 1. You must use the resizeBackingTable method to do so.
      *
+     * Removed entries count toward the load as well: if live entries plus
+     * removed entries would exceed the max LF but live entries alone would
+     * not, the table is rehashed at its current length instead, which clears
+     * out the removed entries. The table also grows if the new key had to
+     * probe more than MAX_PROBE_LENGTH slots in a table that is not sparse.
+     * With incremental resizing, these rehashes are started here but carried
+     * out a few slots at a time by later operations.
+     *
      * Return null if the key was not already in the map. If it was in the map,
      * return the old value associated with it.
      *
@@ -96,21 +270,214 @@ public class QuadraticProbingHashMap<K, V> {
         if (value == null || key == null) {
             throw new IllegalArgumentException("Key is null or value is null.");
         }
-        if ((size + 1.0) / table.length > MAX_LOAD_FACTOR) {
-            resizeBackingTable(2 * table.length + 1);
+        if (oldTable != null) {
+            migrate(MIGRATION_STEP);
+        }
+        if ((size + 1.0) / table.length > maxLoadFactor) {
+            rehash(grownLength(table.length));
+        } else if ((size + tombstones + 1.0) / table.length > maxLoadFactor) {
+            rehash(table.length);
+        }
+        return replaceOrPutEntry(key, value);
+    }
+
+    /**
+     * Adds every entry of map to this map, replacing the values of keys that
+     * are already present.
+     *
+     * The table is resized at most once, up front, to fit every entry. Null
+     * checks are done once for the whole map, and if this map is empty the
+     * keys are placed without searching for duplicates, since a Map's keys
+     * are already distinct.
+     *
+     * @param map the entries to add
+     * @throws java.lang.IllegalArgumentException if map or any key or value
+     * in it is null
+     */
+    public void putAll(Map<? extends K, ? extends V> map) {
+        if (map == null) {
+            throw new IllegalArgumentException("Map can't be null.");
+        }
+        for (Map.Entry<? extends K, ? extends V> entry : map.entrySet()) {
+            if (entry.getKey() == null || entry.getValue() == null) {
+                throw new IllegalArgumentException("Key is null or value is null.");
+            }
+        }
+        reserve(map.size());
+        boolean distinct = size == 0;
+        for (Map.Entry<? extends K, ? extends V> entry : map.entrySet()) {
+            if (distinct) {
+                insertAbsent(new QuadraticProbingMapEntry<>(entry.getKey(), entry.getValue()));
+            } else {
+                replaceOrPutEntry(entry.getKey(), entry.getValue());
+            }
+        }
+    }
+
+    /**
+     * Adds keys[i] mapped to values[i] for every i, replacing the values of
+     * keys that are already present. Later duplicates in keys win.
+     *
+     * The table is resized at most once, up front, to fit every entry, and
+     * null checks are done once for the whole batch.
+     *
+     * @param keys the keys to add
+     * @param values the values to add, parallel to keys
+     * @throws java.lang.IllegalArgumentException if either array or any
+     * element of them is null, or if they differ in length
+     */
+    public void putAll(K[] keys, V[] values) {
+        if (keys == null || values == null) {
+            throw new IllegalArgumentException("Keys or values are null.");
         }
-        int index = quadraticProbe(key);
+        if (keys.length != values.length) {
+            throw new IllegalArgumentException("Keys and values differ in length.");
+        }
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] == null || values[i] == null) {
+                throw new IllegalArgumentException("Key is null or value is null.");
+            }
+        }
+        reserve(keys.length);
+        for (int i = 0; i < keys.length; i++) {
+            replaceOrPutEntry(keys[i], values[i]);
+        }
+    }
+
+    /**
+     * Resizes the backing table, at most once, so that the map can hold
+     * expectedSize entries without exceeding the max load factor. Never
+     * shrinks the table.
+     *
+     * @param expectedSize the number of entries the map should be able to hold
+     */
+    public void ensureCapacity(int expectedSize) {
+        if (expectedSize > size) {
+            reserve(expectedSize - size);
+        }
+    }
+
+    /**
+     * Removes every key in keys that is in the map. Keys that are not in the
+     * map are ignored.
+     *
+     * @param keys the keys to remove
+     * @return true if the map changed
+     * @throws java.lang.IllegalArgumentException if keys is null
+     */
+    public boolean removeAll(Collection<? extends K> keys) {
+        if (keys == null) {
+            throw new IllegalArgumentException("Keys can't be null.");
+        }
+        int oldSize = size;
+        for (K key : keys) {
+            if (key != null) {
+                removeEntry(key);
+            }
+        }
+        return size != oldSize;
+    }
+
+    /**
+     * Removes every entry whose key is not in keys, in a single pass over the
+     * table.
+     *
+     * @param keys the keys to keep
+     * @return true if the map changed
+     * @throws java.lang.IllegalArgumentException if keys is null
+     */
+    public boolean retainAll(Collection<? extends K> keys) {
+        if (keys == null) {
+            throw new IllegalArgumentException("Keys can't be null.");
+        }
+        finishResize();
+        int oldSize = size;
+        int index = 0;
+        while (index < table.length) {
+            QuadraticProbingMapEntry<K, V> entry = table[index];
+            if (entry != null && !entry.isRemoved() && !keys.contains(entry.getKey())) {
+                removeAt(index);
+                if (strategy == ProbingStrategy.ROBIN_HOOD) {
+                    // the next entry may have shifted back into this slot
+                    continue;
+                }
+            }
+            index += 1;
+        }
+        return size != oldSize;
+    }
+
+    /**
+     * Adds or replaces a key whose load factor check has already been done,
+     * replacing it where it is if an incremental resize has yet to move it
+     * out of the old table. A long probe chain can start a resize partway
+     * through a putAll, so every batch insert goes through here too.
+     *
+     * @param key the key to add
+     * @param value the value to add
+     * @return null if the key was not already in the map, otherwise the old
+     * value associated with it
+     */
+    private V replaceOrPutEntry(K key, V value) {
+        if (oldTable != null) {
+            int index = indexOf(key, oldTable);
+            if (index != -1) {
+                V old = oldTable[index].getValue();
+                oldTable[index].setValue(value);
+                return old;
+            }
+        }
+        return putEntry(key, value);
+    }
+
+    /**
+     * Adds or replaces a key whose load factor check has already been done.
+     *
+     * @param key the key to add
+     * @param value the value to add
+     * @return null if the key was not already in the map, otherwise the old
+     * value associated with it
+     */
+    private V putEntry(K key, V value) {
+        if (strategy == ProbingStrategy.ROBIN_HOOD) {
+            return robinHoodPut(key, value);
+        }
+        int length = table.length;
+        int index = hash(key, length);
+        int firstRemoved = -1;
+        int probes = 1;
         QuadraticProbingMapEntry<K, V> entry = table[index];
 
-        while (entry != null) {
-            if (entry.getKey().equals(key) && !entry.isRemoved()) {
+        while (entry != null && probes <= length) {
+            if (entry.isRemoved()) {
+                if (firstRemoved == -1) {
+                    firstRemoved = index;
+                }
+            } else if (entry.getKey().equals(key)) {
+                if (METRICS_ENABLED) {
+                    recordProbes(probes - 1);
+                }
                 V old = entry.getValue();
                 entry.setValue(value);
                 return old;
             }
-            index = (index + 1) % table.length;
+            index = nextProbe(index, probes, length);
+            probes += 1;
             entry = table[index];
         }
+        if (METRICS_ENABLED) {
+            recordProbes(probes - 1);
+        }
+        if ((entry != null && firstRemoved == -1) || (probes > MAX_PROBE_LENGTH
+                && (size + tombstones + 1.0) / length > maxLoadFactor / 2)) {
+            // no valid spot after table.length probes, or the chain is too long
+            rehash(grownLength(length));
+            return putEntry(key, value);
+        }
+        if (firstRemoved != -1) {
+            index = firstRemoved;
+            tombstones -= 1;
+        }
         table[index] = new QuadraticProbingMapEntry<>(key, value);
         size += 1;
         return null;
@@ -118,7 +485,8 @@ public class QuadraticProbingHashMap<K, V> {
 
     /**
      * Removes the entry with a matching key from map by marking the entry as
-     * removed.
+     * removed. Under ROBIN_HOOD probing the entry is taken out of the table
+     * and the entries after it are shifted back instead.
      *
      * @param key the key to remove
      * @return the value previously associated with the key
@@ -129,26 +497,67 @@ public class QuadraticProbingHashMap<K, V> {
         if (key == null) {
             throw new IllegalArgumentException("Key can't be null.");
         }
+        QuadraticProbingMapEntry<K, V> removed = removeEntry(key);
+        if (removed == null) {
+            // if key not found in map
+            throw new NoSuchElementException("Key wasn't found in the map :(");
+        }
+        return removed.getValue();
+    }
 
-        int index = quadraticProbe(key);
-        int lastIndex = index;
-        QuadraticProbingMapEntry<K, V> entry = table[index];
-
-        while (entry != null) {
-            if (entry.getKey().equals(key) && !entry.isRemoved()) {
-                V removed = entry.getValue();
+    /**
+     * Removes the entry with a matching key, from whichever table holds it.
+     *
+     * @param key the key to remove
+     * @return the removed entry, or null if the key is not in the map
+     */
+    private QuadraticProbingMapEntry<K, V> removeEntry(K key) {
+        if (oldTable != null) {
+            migrate(MIGRATION_STEP);
+        }
+        int index = indexOf(key);
+        if (index != -1) {
+            QuadraticProbingMapEntry<K, V> entry = table[index];
+            removeAt(index);
+            return entry;
+        }
+        if (oldTable != null) {
+            index = indexOf(key, oldTable);
+            if (index != -1) {
+                // the old table is thrown away once the move is done, so its
+                // removed entries aren't counted as tombstones
+                QuadraticProbingMapEntry<K, V> entry = oldTable[index];
                 entry.setRemoved(true);
                 size -= 1;
-                return removed;
+                return entry;
             }
-            index = (index + 1) % table.length;
-            if (index == lastIndex) {
-                break;
+        }
+        return null;
+    }
+
+    /**
+     * Removes the live entry at index.
+     *
+     * @param index slot of the entry to remove
+     * @return the value of the removed entry
+     */
+    private V removeAt(int index) {
+        QuadraticProbingMapEntry<K, V> entry = table[index];
+        if (strategy == ProbingStrategy.ROBIN_HOOD) {
+            int length = table.length;
+            int next = nextSlot(index, length);
+            while (table[next] != null && distance(table[next], next, length) > 0) {
+                table[index] = table[next];
+                index = next;
+                next = nextSlot(next, length);
             }
-            entry = table[index];
+            table[index] = null;
+        } else {
+            entry.setRemoved(true);
+            tombstones += 1;
         }
-        // if key not found in map
-        throw new NoSuchElementException("Key wasn't found in the map :(");
+        size -= 1;
+        return entry.getValue();
     }
 
     /**
@@ -163,14 +572,44 @@ public class QuadraticProbingHashMap<K, V> {
         if (key == null) {
             throw new IllegalArgumentException("Key can't be null.");
         }
-        for (int index = quadraticProbe(key), i = 0; i < table.length; index = (index + 1) % table.length, i++) {
-            QuadraticProbingMapEntry<K, V> entry = table[index];
-            if (entry != null && !entry.isRemoved() && entry.getKey().equals(key)) {
-                return entry.getValue();
-            }
+        QuadraticProbingMapEntry<K, V> entry = find(key);
+        if (entry == null) {
+            // if key not found in map
+            throw new NoSuchElementException("Key wasn't found in the map :(");
         }
-        // if key not found in map
-        throw new NoSuchElementException("Key wasn't found in the map :(");
+        return entry.getValue();
+    }
+
+    /**
+     * Gets the value associated with the given key, or defaultValue if the
+     * key is not in the map.
+     *
+     * Unlike get, a miss does not throw, so negative lookups neither allocate
+     * nor unwind the stack.
+     *
+     * @param key the key to search for in the map
+     * @param defaultValue the value to return if the key is not in the map
+     * @return the value associated with the given key, or defaultValue
+     * @throws java.lang.IllegalArgumentException if key is null
+     */
+    public V getOrDefault(K key, V defaultValue) {
+        if (key == null) {
+            throw new IllegalArgumentException("Key can't be null.");
+        }
+        QuadraticProbingMapEntry<K, V> entry = find(key);
+        return entry == null ? defaultValue : entry.getValue();
+    }
+
+    /**
+     * Gets the value associated with the given key, or null if the key is not
+     * in the map. Since null values can't be stored, null always means a miss.
+     *
+     * @param key the key to search for in the map
+     * @return the value associated with the given key, or null
+     * @throws java.lang.IllegalArgumentException if key is null
+     */
+    public V getOrNull(K key) {
+        return getOrDefault(key, null);
     }
 
     /**
@@ -182,12 +621,10 @@ public class QuadraticProbingHashMap<K, V> {
      * @throws java.lang.IllegalArgumentException if key is null
      */
     public boolean containsKey(K key) {
-        try {
-            get(key);
-            return true;
-        } catch (NoSuchElementException e) {
-            return false;
+        if (key == null) {
+            throw new IllegalArgumentException("Key can't be null.");
         }
+        return find(key) != null;
     }
 
     /**
@@ -199,10 +636,8 @@ public class QuadraticProbingHashMap<K, V> {
      */
     public Set<K> keySet() {
         Set<K> keySet = new HashSet<>();
-        for (QuadraticProbingMapEntry<K, V> entry : table) {
-            if (entry != null && !entry.isRemoved()) {
-                keySet.add(entry.getKey());
-            }
+        for (QuadraticProbingMapEntry<K, V> entry : entryView()) {
+            keySet.add(entry.getKey());
         }
         return keySet;
     }
@@ -219,14 +654,128 @@ public class QuadraticProbingHashMap<K, V> {
      */
     public List<V> values() {
         List<V> values = new ArrayList<>();
-        for (QuadraticProbingMapEntry<K, V> entry : table) {
-            if (entry != null && !entry.isRemoved()) {
-                values.add(entry.getValue());
-            }
+        for (QuadraticProbingMapEntry<K, V> entry : entryView()) {
+            values.add(entry.getValue());
         }
         return values;
     }
 
+    /**
+     * Returns a live, read-only Set view of the keys in this map.
+     *
+     * Unlike keySet, nothing is copied: iterating walks the backing table
+     * directly and allocates only the iterator. The view's spliterator splits
+     * the table by index range, so stream() and parallelStream() work on it.
+     *
+     * Iterators are weakly consistent: an iterator created before a resize
+     * keeps walking the old table. Creating an iterator or spliterator
+     * finishes any incremental resize in progress, so lookups and removals
+     * made while iterating never move entries the iterator has yet to reach
+     * or has already returned.
+     *
+     * @return view of the keys in this map
+     */
+    public Set<K> keyView() {
+        return new AbstractSet<K>() {
+            @Override
+            public Iterator<K> iterator() {
+                finishResize();
+                return new TableIterator<>(table, QuadraticProbingMapEntry::getKey);
+            }
+
+            @Override
+            public Spliterator<K> spliterator() {
+                finishResize();
+                return new TableSpliterator<>(table, 0, table.length, size, QuadraticProbingMapEntry::getKey,
+                        Spliterator.DISTINCT);
+            }
+
+            @Override
+            public boolean contains(Object key) {
+                return key != null && findEntry((K) key) != null;
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    /**
+     * Returns a live, read-only Collection view of the values in this map,
+     * in order of increasing index. See keyView for how iteration behaves.
+     *
+     * @return view of the values in this map
+     */
+    public Collection<V> valueView() {
+        return new AbstractCollection<V>() {
+            @Override
+            public Iterator<V> iterator() {
+                finishResize();
+                return new TableIterator<>(table, QuadraticProbingMapEntry::getValue);
+            }
+
+            @Override
+            public Spliterator<V> spliterator() {
+                finishResize();
+                return new TableSpliterator<>(table, 0, table.length, size, QuadraticProbingMapEntry::getValue,
+                        0);
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    /**
+     * Returns a live, read-only Collection view of the entries in this map,
+     * in order of increasing index. The entries are the ones stored in the
+     * table, so setting a value through one updates the map. See keyView for
+     * how iteration behaves.
+     *
+     * @return view of the entries in this map
+     */
+    public Collection<QuadraticProbingMapEntry<K, V>> entryView() {
+        return new AbstractCollection<QuadraticProbingMapEntry<K, V>>() {
+            @Override
+            public Iterator<QuadraticProbingMapEntry<K, V>> iterator() {
+                finishResize();
+                return new TableIterator<>(table, Function.identity());
+            }
+
+            @Override
+            public Spliterator<QuadraticProbingMapEntry<K, V>> spliterator() {
+                finishResize();
+                return new TableSpliterator<>(table, 0, table.length, size, Function.identity(),
+                        Spliterator.DISTINCT);
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    /**
+     * Performs action on every key-value pair in the map, in order of
+     * increasing index, by walking the backing table directly.
+     *
+     * @param action the action to perform on each pair
+     * @throws java.lang.IllegalArgumentException if action is null
+     */
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+        if (action == null) {
+            throw new IllegalArgumentException("Action can't be null.");
+        }
+        for (QuadraticProbingMapEntry<K, V> entry : entryView()) {
+            action.accept(entry.getKey(), entry.getValue());
+        }
+    }
+
     /**
      * Resize the backing table to length.
      *
@@ -249,6 +798,13 @@ public class QuadraticProbingHashMap<K, V> {
      *
      * Hint: You cannot just simply copy the entries over to the new array.
      *
+     * If this map uses power-of-two tables, length is rounded up to the next
+     * power of two. Any incremental resize in progress is finished first.
+     *
+     * Quadratic probing doesn't reach every slot of a 2n + 1 length table, so
+     * if an entry's probe sequence finds no empty slot, the table grows past
+     * length until every entry fits.
+     *
      * @param length new length of the backing table
      * @throws java.lang.IllegalArgumentException if length is less than the
      * number of items in the hash map
@@ -257,15 +813,16 @@ public class QuadraticProbingHashMap<K, V> {
         if (length < size) {
             throw new IllegalArgumentException("The length is less than the size.");
         }
-        QuadraticProbingMapEntry<K, V>[] newTable = new QuadraticProbingMapEntry[length];
-
-        for (QuadraticProbingMapEntry<K, V> entry : table) {
-            if (entry != null && !entry.isRemoved()) {
-                int index = quadraticProbe(entry.getKey(), newTable);
-                newTable[index] = entry;
-            }
+        finishResize();
+        long start = METRICS_ENABLED ? System.nanoTime() : 0;
+        table = buildTable(length, table, oldTableOrEmpty());
+        tombstones = 0;
+        if (METRICS_ENABLED) {
+            long elapsed = System.nanoTime() - start;
+            resizeCount += 1;
+            totalResizeNanos += elapsed;
+            maxResizeNanos = Math.max(maxResizeNanos, elapsed);
         }
-        table = newTable;
     }
 
     /**
@@ -277,33 +834,824 @@ public class QuadraticProbingHashMap<K, V> {
      * Must be O(1).
      */
     public void clear() {
-        table = new QuadraticProbingMapEntry[INITIAL_CAPACITY];
+        table = new QuadraticProbingMapEntry[tableLength(INITIAL_CAPACITY)];
+        oldTable = null;
         size = 0;
+        tombstones = 0;
     }
 
     /**
-     * Hashing function
-     * @param key key to probe
-     * @return hashing value to store at
+     * Finishes any incremental resize in progress, moving every remaining
+     * entry of the old table into the new one. Does nothing if the map
+     * doesn't resize incrementally or no resize is in progress.
+     */
+    public void finishResize() {
+        if (oldTable != null) {
+            migrate(oldTable.length);
+        }
+    }
+
+    /**
+     * Rehashes the table to length, synchronously or, with incremental
+     * resizing, by starting a move that later operations carry out.
+     *
+     * @param length new length of the backing table
+     */
+    private void rehash(int length) {
+        if (!incremental) {
+            resizeBackingTable(length);
+            return;
+        }
+        finishResize();
+        if (METRICS_ENABLED) {
+            resizeCount += 1;
+        }
+        oldTable = table;
+        table = new QuadraticProbingMapEntry[tableLength(length)];
+        tombstones = 0;
+        migrated = 0;
+        migrate(MIGRATION_STEP);
+    }
+
+    /**
+     * Moves the live entries of the next slots of the old table into the new
+     * table, leaving MOVED in their place. Drops the old table once every
+     * slot has been moved.
+     *
+     * @param slots number of old-table slots to move
+     */
+    private void migrate(int slots) {
+        long start = METRICS_ENABLED ? System.nanoTime() : 0;
+        int end = (int) Math.min(oldTable.length, (long) migrated + slots);
+        for (; migrated < end; migrated++) {
+            QuadraticProbingMapEntry<K, V> entry = oldTable[migrated];
+            if (entry != null && !entry.isRemoved()) {
+                // keys are never in both tables, so no duplicate check is needed
+                int index = quadraticProbe(entry.getKey(), table);
+                if (index == -1) {
+                    // the new table can't take this entry, so rebuild a
+                    // larger one from both tables at once
+                    table = buildTable(grownLength(table.length), table, oldTable);
+                    tombstones = 0;
+                    migrated = oldTable.length;
+                    break;
+                }
+                table[index] = entry;
+                oldTable[migrated] = (QuadraticProbingMapEntry<K, V>) MOVED;
+            }
+        }
+        if (migrated == oldTable.length) {
+            oldTable = null;
+        }
+        if (METRICS_ENABLED) {
+            long elapsed = System.nanoTime() - start;
+            totalResizeNanos += elapsed;
+            maxResizeNanos = Math.max(maxResizeNanos, elapsed);
+        }
+    }
+
+    /**
+     * Finds the live entry holding key in either table, first moving the
+     * next slots of an incremental resize in progress.
+     *
+     * @param key key to search for
+     * @return the entry, or null if the key is not in the map
+     */
+    private QuadraticProbingMapEntry<K, V> find(K key) {
+        if (oldTable != null) {
+            migrate(MIGRATION_STEP);
+        }
+        return findEntry(key);
+    }
+
+    /**
+     * Finds the live entry holding key in either table.
+     *
+     * @param key key to search for
+     * @return the entry, or null if the key is not in the map
+     */
+    private QuadraticProbingMapEntry<K, V> findEntry(K key) {
+        int index = indexOf(key);
+        if (index != -1) {
+            return table[index];
+        }
+        if (oldTable != null) {
+            index = indexOf(key, oldTable);
+            if (index != -1) {
+                return oldTable[index];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the old table of an incremental resize in progress, or an empty
+     * table if there is none.
+     *
+     * @return the old table, or an empty one
      */
-    private int quadraticProbe(K key) {
-        return quadraticProbe(key, table);
+    private QuadraticProbingMapEntry<K, V>[] oldTableOrEmpty() {
+        return oldTable == null ? new QuadraticProbingMapEntry[0] : oldTable;
+    }
+
+    /**
+     * Finds the index of the live entry holding key.
+     *
+     * The search follows the key's probe sequence and stops at the first
+     * empty slot, so removed entries are skipped but never end the search.
+     * Under ROBIN_HOOD probing it also stops at the first entry that is
+     * closer to its home slot than the key would be.
+     *
+     * @param key key to search for
+     * @return index of the entry in the table, or -1 if it is not in the map
+     */
+    private int indexOf(K key) {
+        return indexOf(key, table);
+    }
+
+    /**
+     * Finds the index of the live entry holding key in the given table. See
+     * indexOf(key).
+     *
+     * @param key key to search for
+     * @param table table to search
+     * @return index of the entry in table, or -1 if it is not there
+     */
+    private int indexOf(K key, QuadraticProbingMapEntry<K, V>[] table) {
+        int length = table.length;
+        int index = hash(key, length);
+        if (strategy == ProbingStrategy.ROBIN_HOOD) {
+            for (int probes = 0; probes < length; probes++) {
+                QuadraticProbingMapEntry<K, V> entry = table[index];
+                if (entry == null || distance(entry, index, length) < probes) {
+                    // a richer entry means the key would have been placed earlier
+                    if (METRICS_ENABLED) {
+                        recordProbes(probes);
+                    }
+                    return -1;
+                }
+                if (entry.getKey().equals(key)) {
+                    if (METRICS_ENABLED) {
+                        recordProbes(probes);
+                    }
+                    return index;
+                }
+                index = nextSlot(index, length);
+            }
+            if (METRICS_ENABLED) {
+                recordProbes(length);
+            }
+            return -1;
+        }
+        for (int i = 1; i <= length; i++) {
+            QuadraticProbingMapEntry<K, V> entry = table[index];
+            if (entry == null || (!entry.isRemoved() && entry.getKey().equals(key))) {
+                if (METRICS_ENABLED) {
+                    recordProbes(i - 1);
+                }
+                return entry == null ? -1 : index;
+            }
+            index = nextProbe(index, i, length);
+        }
+        if (METRICS_ENABLED) {
+            recordProbes(length);
+        }
+        return -1;
     }
 
     /**
      * Hashing function
      * @param key key to probe
      * @param table table to probe into
-     * @return hashing value to store at
+     * @return first empty slot on the key's probe sequence, or -1 if none
+     * turns up within table.length probes
      */
     private int quadraticProbe(K key, QuadraticProbingMapEntry<K, V>[] table) {
-        int index = Math.abs(key.hashCode() % table.length);
-        int i = 0;
-        while (table[index] != null && !table[index].isRemoved()) {
-            index = (index + i * i) % table.length;
-            i += 1;
+        int length = table.length;
+        int index = hash(key, length);
+        for (int i = 1; i <= length; i++) {
+            if (table[index] == null) {
+                return index;
+            }
+            index = nextProbe(index, i, length);
+        }
+        return -1;
+    }
+
+    /**
+     * Places every live entry of first and then second into a new table of
+     * at least the given length. If quadratic probing finds no empty slot
+     * for some entry, the table is grown and filled again from the start.
+     *
+     * @param length requested length of the new table
+     * @param first table whose live entries are placed first
+     * @param second table whose live entries are placed next, possibly empty
+     * @return the filled table
+     */
+    private QuadraticProbingMapEntry<K, V>[] buildTable(int length, QuadraticProbingMapEntry<K, V>[] first,
+                                                        QuadraticProbingMapEntry<K, V>[] second) {
+        while (true) {
+            QuadraticProbingMapEntry<K, V>[] newTable = new QuadraticProbingMapEntry[tableLength(length)];
+            if (placeAll(first, newTable) && placeAll(second, newTable)) {
+                return newTable;
+            }
+            length = grownLength(newTable.length);
+        }
+    }
+
+    /**
+     * Places every live entry of source into target, which must not already
+     * hold any of their keys.
+     *
+     * @param source table to take entries from
+     * @param target table to place entries into
+     * @return false if quadratic probing found no empty slot for an entry
+     */
+    private boolean placeAll(QuadraticProbingMapEntry<K, V>[] source, QuadraticProbingMapEntry<K, V>[] target) {
+        for (QuadraticProbingMapEntry<K, V> entry : source) {
+            if (entry != null && !entry.isRemoved()) {
+                if (strategy == ProbingStrategy.ROBIN_HOOD) {
+                    robinHoodInsert(entry, target);
+                } else {
+                    int index = quadraticProbe(entry.getKey(), target);
+                    if (index == -1) {
+                        return false;
+                    }
+                    target[index] = entry;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Makes room for additional entries with at most one resize: grows
+     * the table if the live entries would not fit, or rehashes it in place if
+     * they would only fail to fit because of removed entries.
+     *
+     * @param additional number of entries about to be added
+     */
+    private void reserve(int additional) {
+        finishResize();
+        long needed = size + (long) additional;
+        int length = table.length;
+        if (needed > maxLoadFactor * length) {
+            long minimum = (long) Math.ceil(needed / maxLoadFactor);
+            while (length < minimum) {
+                length = grownLength(length);
+            }
+            resizeBackingTable(length);
+        } else if (needed + tombstones > maxLoadFactor * length) {
+            resizeBackingTable(length);
+        }
+    }
+
+    /**
+     * Places an entry whose key is known not to be in the map, without
+     * searching for a duplicate.
+     *
+     * @param entry entry to place
+     */
+    private void insertAbsent(QuadraticProbingMapEntry<K, V> entry) {
+        if (strategy == ProbingStrategy.ROBIN_HOOD) {
+            robinHoodInsert(entry, table);
+        } else {
+            int index = quadraticProbe(entry.getKey(), table);
+            if (index == -1) {
+                resizeBackingTable(grownLength(table.length));
+                insertAbsent(entry);
+                return;
+            }
+            table[index] = entry;
+        }
+        size += 1;
+    }
+
+    /**
+     * Adds a key that is not yet in the map using ROBIN_HOOD probing.
+     *
+     * @param key the key to add
+     * @param value the value to add
+     * @return the old value, or null if the key was not already in the map
+     */
+    private V robinHoodPut(K key, V value) {
+        int index = indexOf(key);
+        if (index != -1) {
+            V old = table[index].getValue();
+            table[index].setValue(value);
+            return old;
+        }
+        int probes = robinHoodInsert(new QuadraticProbingMapEntry<>(key, value), table);
+        size += 1;
+        if (probes > MAX_PROBE_LENGTH && (double) size / table.length > maxLoadFactor / 2) {
+            rehash(grownLength(table.length));
+        }
+        return null;
+    }
+
+    /**
+     * Places an entry whose key is not in table using ROBIN_HOOD probing.
+     * Whenever the entry being placed is further from home than the entry in
+     * the slot, they swap and the displaced entry continues the search.
+     *
+     * @param entry entry to place
+     * @param table table to place into, which must have an empty slot
+     * @return the furthest any entry ended up from its home slot
+     */
+    private int robinHoodInsert(QuadraticProbingMapEntry<K, V> entry, QuadraticProbingMapEntry<K, V>[] table) {
+        int length = table.length;
+        int index = hash(entry.getKey(), length);
+        int probes = 0;
+        int longest = 0;
+        while (table[index] != null) {
+            int existing = distance(table[index], index, length);
+            if (existing < probes) {
+                QuadraticProbingMapEntry<K, V> displaced = table[index];
+                table[index] = entry;
+                entry = displaced;
+                probes = existing;
+            }
+            index = nextSlot(index, length);
+            probes += 1;
+            longest = Math.max(longest, probes);
+        }
+        table[index] = entry;
+        return longest;
+    }
+
+    /**
+     * Returns how many linear probes away from its home slot an entry is.
+     *
+     * @param entry entry to measure
+     * @param index slot the entry is in
+     * @param length length of the table
+     * @return distance from the entry's home slot to index
+     */
+    private int distance(QuadraticProbingMapEntry<?, ?> entry, int index, int length) {
+        int home = hash(entry.getKey(), length);
+        return index >= home ? index - home : index + length - home;
+    }
+
+    /**
+     * Computes the home slot of key. Power-of-two tables mix the hashCode and
+     * mask it; other tables take it modulo the length.
+     *
+     * @param key key to hash
+     * @param length length of the table
+     * @return home slot of the key
+     */
+    private int hash(Object key, int length) {
+        if (powerOfTwo) {
+            return mix(key.hashCode()) & (length - 1);
+        }
+        return Math.abs(key.hashCode() % length);
+    }
+
+    /**
+     * Returns the slot probe i lands on given the slot probe i - 1 landed on.
+     *
+     * With odd table lengths the i-th probe lands at home + i * i. With
+     * power-of-two lengths it lands at home + i * (i + 1) / 2 instead, since
+     * those triangular offsets reach every slot of a power-of-two table.
+     *
+     * @param index slot of the previous probe
+     * @param i number of the probe, starting at 1
+     * @param length length of the table
+     * @return slot of probe i
+     */
+    private int nextProbe(int index, int i, int length) {
+        if (powerOfTwo) {
+            return (index + i) & (length - 1);
+        }
+        return (index + 2 * i - 1) % length;
+    }
+
+    /**
+     * Returns the slot after index, wrapping around, for linear probing.
+     *
+     * @param index current slot
+     * @param length length of the table
+     * @return next slot
+     */
+    private int nextSlot(int index, int length) {
+        if (powerOfTwo) {
+            return (index + 1) & (length - 1);
+        }
+        return (index + 1) % length;
+    }
+
+    /**
+     * Returns the length to grow a table of the given length to: 2 * length
+     * for power-of-two tables, 2 * length + 1 otherwise.
+     *
+     * @param length current length of the table
+     * @return grown length
+     */
+    private int grownLength(int length) {
+        return powerOfTwo ? 2 * length : 2 * length + 1;
+    }
+
+    /**
+     * Rounds length up to a power of two if this map uses power-of-two
+     * tables.
+     *
+     * @param length requested length
+     * @return the length the table will actually have
+     */
+    private int tableLength(int length) {
+        if (!powerOfTwo || length <= 1 || Integer.bitCount(length) == 1) {
+            return length;
+        }
+        return Integer.highestOneBit(length - 1) << 1;
+    }
+
+    /**
+     * Scrambles a hashCode with the murmur3 finalizer so that sequential or
+     * otherwise patterned hashCodes spread across the low bits used by
+     * power-of-two tables.
+     *
+     * @param h hashCode to mix
+     * @return mixed hash
+     */
+    private static int mix(int h) {
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return h;
+    }
+
+    /**
+     * Returns how many probes it takes to find each entry in the map. Index i
+     * of the result counts the entries found on probe i, where probe 0 is the
+     * entry's home slot, so the length of the result is one more than the
+     * longest probe sequence.
+     *
+     * Must be O(n) under ROBIN_HOOD probing.
+     *
+     * During an incremental resize, entries still in the old table are
+     * counted by their probes in the old table.
+     *
+     * @return probe-length histogram of the entries in the map
+     */
+    public int[] probeLengthHistogram() {
+        QuadraticProbingMapEntry<K, V>[] before = oldTableOrEmpty();
+        int[] counts = new int[Math.max(before.length, table.length) + 1];
+        int longest = Math.max(countProbes(before, counts), countProbes(table, counts));
+        return Arrays.copyOf(counts, longest + 1);
+    }
+
+    /**
+     * Adds the probe length of every live entry of table to counts.
+     *
+     * @param table table to measure
+     * @param counts histogram to add to, longer than table
+     * @return the longest probe length in table, or -1 if it has no entries
+     */
+    private int countProbes(QuadraticProbingMapEntry<K, V>[] table, int[] counts) {
+        int length = table.length;
+        int longest = -1;
+        for (int index = 0; index < length; index++) {
+            QuadraticProbingMapEntry<K, V> entry = table[index];
+            if (entry != null && !entry.isRemoved()) {
+                int probes;
+                if (strategy == ProbingStrategy.ROBIN_HOOD) {
+                    probes = distance(entry, index, length);
+                } else {
+                    int slot = hash(entry.getKey(), length);
+                    probes = 0;
+                    while (slot != index && probes < length) {
+                        probes += 1;
+                        slot = nextProbe(slot, probes, length);
+                    }
+                }
+                counts[probes] += 1;
+                longest = Math.max(longest, probes);
+            }
+        }
+        return longest;
+    }
+
+    /**
+     * Returns a snapshot of how the map's probing is behaving.
+     *
+     * The size, capacity, tombstone and cluster figures are computed from
+     * the table on every call, in O(n). The probe histogram and resize
+     * figures are only collected when METRICS_ENABLED is true, and are zero
+     * otherwise. During an incremental resize, the capacity, tombstones and
+     * longest cluster are those of the new table.
+     *
+     * @return the map's current statistics
+     */
+    public QuadraticProbingHashMapStats stats() {
+        QuadraticProbingMapEntry<K, V>[] current = table;
+        int length = current.length;
+        int longest = 0;
+        int run = 0;
+        int leading = -1;
+        for (int index = 0; index < length; index++) {
+            if (current[index] != null) {
+                run += 1;
+                longest = Math.max(longest, run);
+            } else {
+                if (leading == -1) {
+                    leading = run;
+                }
+                run = 0;
+            }
+        }
+        if (leading == -1) {
+            longest = length;
+        } else {
+            // a run at the end of the table continues at the start
+            longest = Math.max(longest, run + leading);
+        }
+        return new QuadraticProbingHashMapStats(size, length, tombstones, longest,
+                METRICS_ENABLED ? probeCounts : new long[HISTOGRAM_BUCKETS], maxProbeLength,
+                resizeCount, totalResizeNanos, maxResizeNanos);
+    }
+
+    /**
+     * Registers a QuadraticProbingHashMapMXBean for this map with the
+     * platform MBean server, so its stats can be watched over JMX. The bean
+     * is registered as QuadraticProbingHashMap:name=name.
+     *
+     * The map is not thread-safe, so attributes read over JMX while the map
+     * is being modified may be slightly inconsistent. The bean keeps the map
+     * reachable until it is unregistered with the returned name.
+     *
+     * @param name the name to register under
+     * @return the ObjectName the bean was registered under
+     * @throws java.lang.IllegalArgumentException if name is null
+     * @throws javax.management.JMException if the bean could not be
+     * registered, for example because the name is already taken
+     */
+    public ObjectName registerMXBean(String name) throws JMException {
+        if (name == null) {
+            throw new IllegalArgumentException("Name can't be null.");
+        }
+        ObjectName objectName = new ObjectName("QuadraticProbingHashMap:name=" + ObjectName.quote(name));
+        ManagementFactory.getPlatformMBeanServer().registerMBean(
+                new StandardMBean(new StatsView(), QuadraticProbingHashMapMXBean.class, true), objectName);
+        return objectName;
+    }
+
+    /**
+     * Counts one operation's probe length in the probe histogram.
+     *
+     * @param probes number of slots probed past the home slot
+     */
+    private void recordProbes(int probes) {
+        probeCounts[Math.min(probes, HISTOGRAM_BUCKETS - 1)] += 1;
+        maxProbeLength = Math.max(maxProbeLength, probes);
+    }
+
+    /**
+     * Returns the probing strategy this map was created with.
+     *
+     * @return the probing strategy
+     */
+    ProbingStrategy getStrategy() {
+        return strategy;
+    }
+
+    /**
+     * Returns the max load factor this map was created with.
+     *
+     * @return the max load factor
+     */
+    double getMaxLoadFactor() {
+        return maxLoadFactor;
+    }
+
+    /**
+     * Returns whether this map uses power-of-two table lengths.
+     *
+     * @return true if table lengths are powers of two
+     */
+    boolean usesPowerOfTwoTables() {
+        return powerOfTwo;
+    }
+
+    /**
+     * Returns whether this map spreads resizes over many operations.
+     *
+     * @return true if resizes are incremental
+     */
+    boolean resizesIncrementally() {
+        return incremental;
+    }
+
+    /**
+     * Replaces the table with one whose entries are already at the slots this
+     * map would have put them in, such as one read back from a snapshot.
+     *
+     * @param restored the table to install
+     * @param restoredSize the number of live entries in restored
+     * @param restoredTombstones the number of removed entries in restored
+     */
+    void restoreTable(QuadraticProbingMapEntry<K, V>[] restored, int restoredSize, int restoredTombstones) {
+        table = restored;
+        oldTable = null;
+        size = restoredSize;
+        tombstones = restoredTombstones;
+    }
+
+    /**
+     * Serves the map's stats to JMX.
+     */
+    private final class StatsView implements QuadraticProbingHashMapMXBean {
+        @Override
+        public int getSize() {
+            return size;
+        }
+
+        @Override
+        public int getCapacity() {
+            return table.length;
+        }
+
+        @Override
+        public double getTombstoneRatio() {
+            return (double) tombstones / table.length;
+        }
+
+        @Override
+        public long getResizeCount() {
+            return resizeCount;
+        }
+
+        @Override
+        public long getTotalResizeNanos() {
+            return totalResizeNanos;
+        }
+
+        @Override
+        public long getMaxResizeNanos() {
+            return maxResizeNanos;
+        }
+
+        @Override
+        public int getLongestCluster() {
+            return stats().getLongestCluster();
         }
-        return index;
+
+        @Override
+        public double getMeanProbeLength() {
+            return stats().getMeanProbeLength();
+        }
+
+        @Override
+        public int getMaxProbeLength() {
+            return maxProbeLength;
+        }
+
+        @Override
+        public long[] getProbeHistogram() {
+            return stats().getProbeHistogram();
+        }
+    }
+
+    /**
+     * Walks the live entries of a table in order of increasing index.
+     */
+    private static final class TableIterator<K, V, T> implements Iterator<T> {
+        private final QuadraticProbingMapEntry<K, V>[] table;
+        private final Function<QuadraticProbingMapEntry<K, V>, T> extractor;
+        private int index;
+        private QuadraticProbingMapEntry<K, V> next;
+
+        /**
+         * Creates an iterator over table.
+         *
+         * @param table table to walk
+         * @param extractor picks what to return from each entry
+         */
+        TableIterator(QuadraticProbingMapEntry<K, V>[] table,
+                      Function<QuadraticProbingMapEntry<K, V>, T> extractor) {
+            this.table = table;
+            this.extractor = extractor;
+            advance();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public T next() {
+            if (next == null) {
+                throw new NoSuchElementException("No more entries.");
+            }
+            T result = extractor.apply(next);
+            advance();
+            return result;
+        }
+
+        /**
+         * Finds the next live entry and holds on to it, so that what next
+         * returns doesn't depend on the slot still holding it by then.
+         */
+        private void advance() {
+            next = null;
+            while (index < table.length && next == null) {
+                if (isLive(table[index])) {
+                    next = table[index];
+                }
+                index += 1;
+            }
+        }
+    }
+
+    /**
+     * Splits a table into index ranges so its live entries can be processed
+     * in parallel.
+     */
+    private static final class TableSpliterator<K, V, T> implements Spliterator<T> {
+        private final QuadraticProbingMapEntry<K, V>[] table;
+        private final Function<QuadraticProbingMapEntry<K, V>, T> extractor;
+        private final int characteristics;
+        private int index;
+        private final int fence;
+        private long estimate;
+
+        /**
+         * Creates a spliterator over table[origin, fence).
+         *
+         * @param table table to walk
+         * @param origin first index, inclusive
+         * @param fence last index, exclusive
+         * @param estimate estimated number of live entries in the range
+         * @param extractor picks what to return from each entry
+         * @param characteristics characteristics beyond NONNULL
+         */
+        TableSpliterator(QuadraticProbingMapEntry<K, V>[] table, int origin, int fence, long estimate,
+                         Function<QuadraticProbingMapEntry<K, V>, T> extractor, int characteristics) {
+            this.table = table;
+            this.index = origin;
+            this.fence = fence;
+            this.estimate = estimate;
+            this.extractor = extractor;
+            this.characteristics = characteristics | Spliterator.NONNULL;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            while (index < fence) {
+                QuadraticProbingMapEntry<K, V> entry = table[index];
+                index += 1;
+                if (isLive(entry)) {
+                    action.accept(extractor.apply(entry));
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super T> action) {
+            for (; index < fence; index++) {
+                QuadraticProbingMapEntry<K, V> entry = table[index];
+                if (isLive(entry)) {
+                    action.accept(extractor.apply(entry));
+                }
+            }
+        }
+
+        @Override
+        public Spliterator<T> trySplit() {
+            int mid = (index + fence) >>> 1;
+            if (mid <= index) {
+                return null;
+            }
+            estimate >>>= 1;
+            Spliterator<T> prefix = new TableSpliterator<>(table, index, mid, estimate, extractor,
+                    characteristics);
+            index = mid;
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            return estimate;
+        }
+
+        @Override
+        public int characteristics() {
+            return characteristics;
+        }
+    }
+
+    /**
+     * Returns whether a slot holds a live entry.
+     *
+     * @param entry entry in the slot, possibly null
+     * @return true if the entry is neither null nor removed
+     */
+    private static boolean isLive(QuadraticProbingMapEntry<?, ?> entry) {
+        return entry != null && !entry.isRemoved();
     }
 
     /**
@@ -0,0 +1,81 @@
+/**
+ * Management interface for watching a QuadraticProbingHashMap's probe
+ * behavior over JMX. Each attribute reads a fresh
+ * QuadraticProbingHashMapStats.
+ *
+ * @author Madison Schlaff
+ * @version 1.0
+ *
+ */
+public interface QuadraticProbingHashMapMXBean {
+
+    /**
+     * Returns how many live entries the map holds.
+     *
+     * @return the number of live entries
+     */
+    int getSize();
+
+    /**
+     * Returns the length of the backing table.
+     *
+     * @return the length of the backing table
+     */
+    int getCapacity();
+
+    /**
+     * Returns the fraction of the table holding removed entries.
+     *
+     * @return the fraction of the table holding removed entries
+     */
+    double getTombstoneRatio();
+
+    /**
+     * Returns how many times the table has been rehashed.
+     *
+     * @return the number of times the table has been rehashed
+     */
+    long getResizeCount();
+
+    /**
+     * Returns the total time spent rehashing.
+     *
+     * @return the total time spent rehashing, in nanoseconds
+     */
+    long getTotalResizeNanos();
+
+    /**
+     * Returns the time the longest single rehash took.
+     *
+     * @return the longest single rehash, in nanoseconds
+     */
+    long getMaxResizeNanos();
+
+    /**
+     * Returns the length of the longest run of occupied slots.
+     *
+     * @return the length of the longest run of occupied slots
+     */
+    int getLongestCluster();
+
+    /**
+     * Returns the mean probe length over the recorded operations.
+     *
+     * @return the mean number of probes past the home slot per operation
+     */
+    double getMeanProbeLength();
+
+    /**
+     * Returns the longest probe sequence any recorded operation took.
+     *
+     * @return the most probes past the home slot any operation took
+     */
+    int getMaxProbeLength();
+
+    /**
+     * Returns operation counts by probe length.
+     *
+     * @return operation counts by probes past the home slot
+     */
+    long[] getProbeHistogram();
+}
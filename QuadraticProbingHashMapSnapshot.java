@@ -0,0 +1,237 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * Writes QuadraticProbingHashMaps to a compact binary snapshot and reads
+ * them back.
+ *
+ * A snapshot records how the map was configured and its table length,
+ * followed by one record per occupied slot in order of increasing index. A
+ * live entry's record is the slot index, the key's hashCode, the key record
+ * and the value record; keys and values are encoded with RecordCodecs. A
+ * removed entry's record is just the bitwise complement of its slot index,
+ * since quadratic probe sequences have to keep passing over it.
+ *
+ * Reading places every entry straight back into the slot it was written
+ * from, without rehashing, as long as every key still has the hashCode it
+ * had when written. If any key's hashCode differs (for example identity
+ * hashCodes, or a class whose hashCode changed), the map is rebuilt instead
+ * with one up-front resize and a put per entry.
+ *
+ * All I/O is sequential through NIO channels and a single reused buffer.
+ * Writing finishes any incremental resize the map has in progress, so the
+ * whole map is in one table, and records whether the map resizes
+ * incrementally so the restored map does too. Snapshots from before that
+ * flag was recorded still read, as non-incremental maps.
+ *
+ * @author Madison Schlaff
+ * @version 1.0
+ *
+ */
+public class QuadraticProbingHashMapSnapshot {
+
+    private static final int MAGIC = 0x51504d53;
+    private static final int VERSION = 2;
+
+    /**
+     * Bits of the flags byte. Version 1 snapshots only ever set
+     * POWER_OF_TWO.
+     */
+    private static final int POWER_OF_TWO = 1;
+    private static final int INCREMENTAL = 2;
+    private static final int BUFFER_BYTES = 1 << 16;
+
+    /**
+     * Writes map to channel.
+     *
+     * @param <K> key type
+     * @param <V> value type
+     * @param map the map to write
+     * @param channel the channel to write to
+     * @param keyCodec codec for keys
+     * @param valueCodec codec for values
+     * @throws java.io.IOException if writing to the channel fails
+     * @throws java.lang.IllegalArgumentException if any argument is null
+     */
+    public static <K, V> void write(QuadraticProbingHashMap<K, V> map, WritableByteChannel channel,
+                                    RecordCodec<K> keyCodec, RecordCodec<V> valueCodec) throws IOException {
+        if (map == null || channel == null || keyCodec == null || valueCodec == null) {
+            throw new IllegalArgumentException("Arguments can't be null.");
+        }
+        int recordBytes = 2 * Integer.BYTES + keyCodec.width() + valueCodec.width();
+        ByteBuffer buffer = ByteBuffer.allocateDirect(Math.max(BUFFER_BYTES, recordBytes));
+        map.finishResize();
+        QuadraticProbingMapEntry<K, V>[] table = map.getTable();
+        int tombstones = 0;
+        for (QuadraticProbingMapEntry<K, V> entry : table) {
+            if (entry != null && entry.isRemoved()) {
+                tombstones += 1;
+            }
+        }
+
+        buffer.putInt(MAGIC);
+        buffer.putInt(VERSION);
+        buffer.putInt(map.getStrategy().ordinal());
+        buffer.put((byte) ((map.usesPowerOfTwoTables() ? POWER_OF_TWO : 0)
+                | (map.resizesIncrementally() ? INCREMENTAL : 0)));
+        buffer.putDouble(map.getMaxLoadFactor());
+        buffer.putInt(keyCodec.width());
+        buffer.putInt(valueCodec.width());
+        buffer.putInt(table.length);
+        buffer.putInt(map.size());
+        buffer.putInt(tombstones);
+
+        for (int index = 0; index < table.length; index++) {
+            QuadraticProbingMapEntry<K, V> entry = table[index];
+            if (entry == null) {
+                continue;
+            }
+            if (buffer.remaining() < recordBytes) {
+                drain(buffer, channel);
+            }
+            if (entry.isRemoved()) {
+                buffer.putInt(~index);
+            } else {
+                buffer.putInt(index);
+                buffer.putInt(entry.getKey().hashCode());
+                keyCodec.write(entry.getKey(), buffer, buffer.position());
+                buffer.position(buffer.position() + keyCodec.width());
+                valueCodec.write(entry.getValue(), buffer, buffer.position());
+                buffer.position(buffer.position() + valueCodec.width());
+            }
+        }
+        drain(buffer, channel);
+    }
+
+    /**
+     * Reads a map written by write from channel.
+     *
+     * @param <K> key type
+     * @param <V> value type
+     * @param channel the channel to read from
+     * @param keyCodec codec for keys, with the same width as when written
+     * @param valueCodec codec for values, with the same width as when written
+     * @return the restored map
+     * @throws java.io.IOException if reading from the channel fails, or the
+     * channel ends before the snapshot does
+     * @throws java.lang.IllegalArgumentException if any argument is null, or
+     * the channel doesn't hold a snapshot written with codecs of these widths
+     */
+    public static <K, V> QuadraticProbingHashMap<K, V> read(ReadableByteChannel channel,
+                                                            RecordCodec<K> keyCodec,
+                                                            RecordCodec<V> valueCodec) throws IOException {
+        if (channel == null || keyCodec == null || valueCodec == null) {
+            throw new IllegalArgumentException("Arguments can't be null.");
+        }
+        int recordBytes = 2 * Integer.BYTES + keyCodec.width() + valueCodec.width();
+        ByteBuffer buffer = ByteBuffer.allocateDirect(Math.max(BUFFER_BYTES, recordBytes));
+        buffer.flip();
+
+        fill(buffer, channel, 8 * Integer.BYTES + 1 + Double.BYTES);
+        int magic = buffer.getInt();
+        int version = buffer.getInt();
+        if (magic != MAGIC || version < 1 || version > VERSION) {
+            throw new IllegalArgumentException("Channel doesn't hold a map snapshot.");
+        }
+        int ordinal = buffer.getInt();
+        QuadraticProbingHashMap.ProbingStrategy[] strategies = QuadraticProbingHashMap.ProbingStrategy.values();
+        if (ordinal < 0 || ordinal >= strategies.length) {
+            throw new IllegalArgumentException("Snapshot has an unknown probing strategy.");
+        }
+        QuadraticProbingHashMap.ProbingStrategy strategy = strategies[ordinal];
+        int flags = buffer.get();
+        boolean powerOfTwo = (flags & POWER_OF_TWO) != 0;
+        boolean incremental = (flags & INCREMENTAL) != 0;
+        double maxLoadFactor = buffer.getDouble();
+        if (buffer.getInt() != keyCodec.width() || buffer.getInt() != valueCodec.width()) {
+            throw new IllegalArgumentException("Snapshot was written with codecs of other widths.");
+        }
+        int length = buffer.getInt();
+        int size = buffer.getInt();
+        int tombstones = buffer.getInt();
+
+        QuadraticProbingHashMap<K, V> map = new QuadraticProbingHashMap<>(length, strategy, maxLoadFactor,
+                powerOfTwo, incremental);
+        QuadraticProbingMapEntry<K, V>[] table = new QuadraticProbingMapEntry[length];
+        boolean sameHashes = map.getTable().length == length;
+        QuadraticProbingMapEntry<K, V> removed = null;
+
+        for (int i = 0; i < size + tombstones; i++) {
+            fill(buffer, channel, Integer.BYTES);
+            int index = buffer.getInt();
+            if (index < 0) {
+                // removed entries hold nothing, so they can all share one
+                if (removed == null) {
+                    removed = new QuadraticProbingMapEntry<>(null, null);
+                    removed.setRemoved(true);
+                }
+                table[~index] = removed;
+                continue;
+            }
+            fill(buffer, channel, recordBytes - Integer.BYTES);
+            int hash = buffer.getInt();
+            K key = keyCodec.read(buffer, buffer.position());
+            buffer.position(buffer.position() + keyCodec.width());
+            V value = valueCodec.read(buffer, buffer.position());
+            buffer.position(buffer.position() + valueCodec.width());
+            table[index] = new QuadraticProbingMapEntry<>(key, value);
+            sameHashes = sameHashes && key.hashCode() == hash;
+        }
+
+        if (sameHashes) {
+            map.restoreTable(table, size, tombstones);
+        } else {
+            // the entries' slots are stale, so rebuild with one up-front resize
+            K[] keys = (K[]) new Object[size];
+            V[] values = (V[]) new Object[size];
+            int i = 0;
+            for (QuadraticProbingMapEntry<K, V> entry : table) {
+                if (entry != null && !entry.isRemoved()) {
+                    keys[i] = entry.getKey();
+                    values[i] = entry.getValue();
+                    i += 1;
+                }
+            }
+            map.putAll(keys, values);
+        }
+        return map;
+    }
+
+    /**
+     * Writes everything in buffer to channel and clears it.
+     *
+     * @param buffer buffer in write mode
+     * @param channel channel to write to
+     * @throws java.io.IOException if writing fails
+     */
+    private static void drain(ByteBuffer buffer, WritableByteChannel channel) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    /**
+     * Reads from channel until buffer has at least needed bytes remaining.
+     *
+     * @param buffer buffer in read mode
+     * @param channel channel to read from
+     * @param needed number of bytes that must be available
+     * @throws java.io.IOException if reading fails or the channel ends first
+     */
+    private static void fill(ByteBuffer buffer, ReadableByteChannel channel, int needed) throws IOException {
+        if (buffer.remaining() >= needed) {
+            return;
+        }
+        buffer.compact();
+        while (buffer.position() < needed) {
+            if (channel.read(buffer) == -1) {
+                throw new IOException("Snapshot ended early.");
+            }
+        }
+        buffer.flip();
+    }
+}
@@ -0,0 +1,193 @@
+/**
+ * An immutable snapshot of a QuadraticProbingHashMap's probe behavior,
+ * returned by QuadraticProbingHashMap.stats().
+ *
+ * The size, capacity, tombstone and cluster figures describe the table when
+ * the snapshot was taken and are always available. The probe histogram and
+ * resize figures are only collected while metrics are enabled (see
+ * QuadraticProbingHashMap.METRICS_ENABLED) and are zero otherwise.
+ *
+ * @author Madison Schlaff
+ * @version 1.0
+ *
+ */
+public final class QuadraticProbingHashMapStats {
+
+    private final int size;
+    private final int capacity;
+    private final int tombstones;
+    private final int longestCluster;
+    private final long[] probeHistogram;
+    private final int maxProbeLength;
+    private final long resizeCount;
+    private final long totalResizeNanos;
+    private final long maxResizeNanos;
+
+    /**
+     * Creates a snapshot.
+     *
+     * @param size number of live entries
+     * @param capacity length of the backing table
+     * @param tombstones number of removed entries
+     * @param longestCluster length of the longest run of occupied slots
+     * @param probeHistogram operation counts by probes past the home slot,
+     * which is copied
+     * @param maxProbeLength most probes past the home slot any operation took
+     * @param resizeCount number of rehashes
+     * @param totalResizeNanos total time spent rehashing
+     * @param maxResizeNanos longest single rehash
+     */
+    QuadraticProbingHashMapStats(int size, int capacity, int tombstones, int longestCluster, long[] probeHistogram,
+                                 int maxProbeLength, long resizeCount, long totalResizeNanos, long maxResizeNanos) {
+        this.size = size;
+        this.capacity = capacity;
+        this.tombstones = tombstones;
+        this.longestCluster = longestCluster;
+        this.probeHistogram = probeHistogram.clone();
+        this.maxProbeLength = maxProbeLength;
+        this.resizeCount = resizeCount;
+        this.totalResizeNanos = totalResizeNanos;
+        this.maxResizeNanos = maxResizeNanos;
+    }
+
+    /**
+     * Returns how many live entries the map held.
+     *
+     * @return the number of live entries
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Returns the length of the backing table.
+     *
+     * @return the length of the backing table
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Returns how many removed entries the table held.
+     *
+     * @return the number of removed entries
+     */
+    public int getTombstones() {
+        return tombstones;
+    }
+
+    /**
+     * Returns the fraction of the table holding removed entries.
+     *
+     * @return the fraction of the table holding removed entries
+     */
+    public double getTombstoneRatio() {
+        return (double) tombstones / capacity;
+    }
+
+    /**
+     * Returns the fraction of the table holding live entries.
+     *
+     * @return the fraction of the table holding live entries
+     */
+    public double getLoadFactor() {
+        return (double) size / capacity;
+    }
+
+    /**
+     * Returns the length of the longest run of occupied slots.
+     *
+     * @return the length of the longest run of occupied slots, counting
+     * removed entries, since that is how far a probe can be forced to walk
+     */
+    public int getLongestCluster() {
+        return longestCluster;
+    }
+
+    /**
+     * Returns operation counts by probe length. Index i counts the puts,
+     * gets, removes and lookups that probed i slots past the home slot; the
+     * last index also counts every longer probe sequence.
+     *
+     * @return a copy of the probe-length histogram
+     */
+    public long[] getProbeHistogram() {
+        return probeHistogram.clone();
+    }
+
+    /**
+     * Returns how many operations the probe histogram recorded.
+     *
+     * @return the number of operations recorded in the probe histogram
+     */
+    public long getOperationCount() {
+        long operations = 0;
+        for (long count : probeHistogram) {
+            operations += count;
+        }
+        return operations;
+    }
+
+    /**
+     * Returns the mean probe length over the recorded operations.
+     *
+     * @return the mean number of probes past the home slot per operation,
+     * treating the last histogram bucket as its lower bound
+     */
+    public double getMeanProbeLength() {
+        long operations = 0;
+        long probes = 0;
+        for (int i = 0; i < probeHistogram.length; i++) {
+            operations += probeHistogram[i];
+            probes += i * probeHistogram[i];
+        }
+        return operations == 0 ? 0 : (double) probes / operations;
+    }
+
+    /**
+     * Returns the longest probe sequence any recorded operation took.
+     *
+     * @return the most probes past the home slot any operation took
+     */
+    public int getMaxProbeLength() {
+        return maxProbeLength;
+    }
+
+    /**
+     * Returns how many times the table has been rehashed.
+     *
+     * @return the number of times the table has been rehashed, whether to
+     * grow or to clear out removed entries
+     */
+    public long getResizeCount() {
+        return resizeCount;
+    }
+
+    /**
+     * Returns the total time spent rehashing.
+     *
+     * @return the total time spent rehashing, in nanoseconds
+     */
+    public long getTotalResizeNanos() {
+        return totalResizeNanos;
+    }
+
+    /**
+     * Returns the time the longest single rehash took.
+     *
+     * @return the longest single rehash, in nanoseconds
+     */
+    public long getMaxResizeNanos() {
+        return maxResizeNanos;
+    }
+
+    @Override
+    public String toString() {
+        return "QuadraticProbingHashMapStats[size=" + size + ", capacity=" + capacity
+                + ", tombstones=" + tombstones + ", longestCluster=" + longestCluster
+                + ", meanProbeLength=" + getMeanProbeLength() + ", maxProbeLength=" + maxProbeLength
+                + ", resizeCount=" + resizeCount + ", totalResizeNanos=" + totalResizeNanos
+                + ", maxResizeNanos=" + maxResizeNanos + "]";
+    }
+}
@@ -0,0 +1,129 @@
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for QuadraticProbingHashMap.
+ *
+ * @author Madison Schlaff
+ * @version 1.0
+ *
+ */
+public class QuadraticProbingHashMapTest {
+
+    private static final int TIMEOUT = 2000;
+
+    @Test(timeout = TIMEOUT)
+    public void testHighLoadFactorRehash() {
+        // at load factor 0.8, quadratic probing on 2n + 1 lengths can fail
+        // to reach a free slot while rehashing
+        for (int seed = 0; seed < 50; seed++) {
+            checkRandomOperations(seed, 0.8, false);
+            checkRandomOperations(seed, 0.8, true);
+        }
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testLookupsWhileIteratingIncrementalResize() {
+        QuadraticProbingHashMap<Integer, Integer> map = new QuadraticProbingHashMap<>(13,
+                QuadraticProbingHashMap.ProbingStrategy.QUADRATIC, 0.67, false, true);
+        // stop right after a resize starts, so entries are left in the old
+        // table for lookups to move
+        int key = 0;
+        int length = map.getTable().length;
+        while (map.size() < 1000 || map.getTable().length == length) {
+            length = map.getTable().length;
+            map.put(key, key * 10);
+            key++;
+        }
+
+        Set<Integer> seen = new HashSet<>();
+        for (Integer k : map.keyView()) {
+            assertNotNull(k);
+            assertTrue(seen.add(k));
+            assertEquals((Integer) (k * 10), map.get(k));
+            assertTrue(map.containsKey(k));
+        }
+        assertEquals(map.size(), seen.size());
+
+        seen.clear();
+        for (QuadraticProbingMapEntry<Integer, Integer> entry : map.entryView()) {
+            assertNotNull(entry.getKey());
+            assertTrue(seen.add(entry.getKey()));
+            assertTrue(map.containsKey(entry.getKey()));
+        }
+        assertEquals(map.size(), seen.size());
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testPutAllWhileIncrementalResizeStarts() {
+        QuadraticProbingHashMap<Integer, Integer> map = new QuadraticProbingHashMap<>(1001,
+                QuadraticProbingHashMap.ProbingStrategy.QUADRATIC, 0.67, false, true);
+        int length = map.getTable().length;
+        for (int i = 0; i < 300; i++) {
+            map.put(i, i);
+        }
+        // the colliding keys build a probe chain long enough to start a
+        // resize partway through the batch, leaving the keys already in the
+        // map in the old table
+        Map<Integer, Integer> batch = new LinkedHashMap<>();
+        for (int i = 1; i <= 70; i++) {
+            batch.put(i * length + 700, i);
+        }
+        for (int i = 0; i < 300; i++) {
+            batch.put(i, -i);
+        }
+        map.putAll(batch);
+        assertEquals(370, map.size());
+        assertEquals((Integer) (-5), map.get(5));
+
+        map = new QuadraticProbingHashMap<>(1001, QuadraticProbingHashMap.ProbingStrategy.QUADRATIC, 0.67,
+                false, true);
+        for (int i = 0; i < 300; i++) {
+            map.put(i, i);
+        }
+        Integer[] keys = batch.keySet().toArray(new Integer[0]);
+        Integer[] values = batch.values().toArray(new Integer[0]);
+        map.putAll(keys, values);
+        assertEquals(370, map.size());
+        assertEquals((Integer) (-5), map.get(5));
+    }
+
+    /**
+     * Runs random puts and removes against a HashMap and checks that the
+     * map agrees with it throughout.
+     *
+     * @param seed seed for the operations
+     * @param maxLoadFactor max load factor of the map
+     * @param incremental whether the map resizes incrementally
+     */
+    private void checkRandomOperations(long seed, double maxLoadFactor, boolean incremental) {
+        QuadraticProbingHashMap<Integer, Integer> map = new QuadraticProbingHashMap<>(13,
+                QuadraticProbingHashMap.ProbingStrategy.QUADRATIC, maxLoadFactor, false, incremental);
+        Map<Integer, Integer> expected = new HashMap<>();
+        Random random = new Random(seed);
+        for (int i = 0; i < 5000; i++) {
+            Integer key = random.nextInt(400);
+            if (random.nextInt(3) == 0) {
+                if (expected.containsKey(key)) {
+                    assertEquals(expected.remove(key), map.remove(key));
+                }
+            } else {
+                assertEquals(expected.put(key, i), map.put(key, i));
+            }
+        }
+        assertEquals(expected.size(), map.size());
+        for (Map.Entry<Integer, Integer> entry : expected.entrySet()) {
+            assertEquals(entry.getValue(), map.get(entry.getKey()));
+        }
+    }
+}
@@ -0,0 +1,92 @@
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Measures how fast SpscArrayQueue and MpmcArrayQueue hand elements between
+ * threads, compared with java.util.concurrent.ArrayBlockingQueue. Every queue
+ * holds CAPACITY elements and moves ELEMENTS of them, with producers and
+ * consumers yielding whenever offer or poll fails, so all three are driven
+ * the same way. The SPSC run uses one producer and one consumer and the MPMC
+ * run two of each. Each run is repeated a few rounds so the later rounds are
+ * JIT-compiled.
+ *
+ * Run with: java QueueThroughput
+ *
+ * @author Madison Schlaff
+ * @version 1.0
+ *
+ */
+public class QueueThroughput {
+
+    private static final int CAPACITY = 1024;
+    private static final int ELEMENTS = 10000000;
+    private static final int ROUNDS = 3;
+    private static final Object ELEMENT = new Object();
+
+    /**
+     * Prints the throughput of each queue for each run.
+     *
+     * @param args unused
+     * @throws InterruptedException if interrupted while waiting for threads
+     */
+    public static void main(String[] args) throws InterruptedException {
+        System.out.println("available processors: " + Runtime.getRuntime().availableProcessors());
+        for (int round = 1; round <= ROUNDS; round++) {
+            SpscArrayQueue<Object> spsc = new SpscArrayQueue<>(CAPACITY);
+            ArrayBlockingQueue<Object> blocking = new ArrayBlockingQueue<>(CAPACITY);
+            System.out.println("1 producer, 1 consumer, round " + round + ": "
+                    + run(1, spsc::offer, spsc::poll) + " ops/ms SpscArrayQueue, "
+                    + run(1, blocking::offer, blocking::poll) + " ops/ms ArrayBlockingQueue");
+        }
+        for (int round = 1; round <= ROUNDS; round++) {
+            MpmcArrayQueue<Object> mpmc = new MpmcArrayQueue<>(CAPACITY);
+            ArrayBlockingQueue<Object> blocking = new ArrayBlockingQueue<>(CAPACITY);
+            System.out.println("2 producers, 2 consumers, round " + round + ": "
+                    + run(2, mpmc::offer, mpmc::poll) + " ops/ms MpmcArrayQueue, "
+                    + run(2, blocking::offer, blocking::poll) + " ops/ms ArrayBlockingQueue");
+        }
+    }
+
+    /**
+     * Starts pairs producers and as many consumers, which between them pass
+     * ELEMENTS elements through a queue, and times them until the last one
+     * finishes.
+     *
+     * @param pairs number of producers, and of consumers
+     * @param offer the queue's offer method
+     * @param poll the queue's poll method
+     * @return elements handed over per millisecond
+     * @throws InterruptedException if interrupted while waiting for threads
+     */
+    private static long run(int pairs, Predicate<Object> offer, Supplier<Object> poll)
+            throws InterruptedException {
+        int perThread = ELEMENTS / pairs;
+        Thread[] threads = new Thread[2 * pairs];
+        for (int i = 0; i < pairs; i++) {
+            threads[2 * i] = new Thread(() -> {
+                for (int j = 0; j < perThread; j++) {
+                    while (!offer.test(ELEMENT)) {
+                        Thread.yield();
+                    }
+                }
+            });
+            threads[2 * i + 1] = new Thread(() -> {
+                for (int j = 0; j < perThread; j++) {
+                    while (poll.get() == null) {
+                        Thread.yield();
+                    }
+                }
+            });
+        }
+        long start = System.nanoTime();
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        long elapsed = System.nanoTime() - start;
+        return (long) perThread * pairs * 1000000 / elapsed;
+    }
+}
@@ -0,0 +1,81 @@
+import java.nio.ByteBuffer;
+
+/**
+ * Converts values to and from fixed-width byte records, for structures that
+ * store their data outside the Java heap.
+ *
+ * Implementations must always write exactly width() bytes, and must use
+ * absolute gets and puts so the buffer's position is left alone.
+ *
+ * @author Madison Schlaff
+ * @version 1.0
+ *
+ * @param <T> the type of value encoded
+ */
+public interface RecordCodec<T> {
+
+    /**
+     * Encodes Integers as 4 big-endian bytes.
+     */
+    RecordCodec<Integer> INT = new RecordCodec<Integer>() {
+        @Override
+        public int width() {
+            return Integer.BYTES;
+        }
+
+        @Override
+        public void write(Integer value, ByteBuffer buffer, int offset) {
+            buffer.putInt(offset, value);
+        }
+
+        @Override
+        public Integer read(ByteBuffer buffer, int offset) {
+            return buffer.getInt(offset);
+        }
+    };
+
+    /**
+     * Encodes Longs as 8 big-endian bytes.
+     */
+    RecordCodec<Long> LONG = new RecordCodec<Long>() {
+        @Override
+        public int width() {
+            return Long.BYTES;
+        }
+
+        @Override
+        public void write(Long value, ByteBuffer buffer, int offset) {
+            buffer.putLong(offset, value);
+        }
+
+        @Override
+        public Long read(ByteBuffer buffer, int offset) {
+            return buffer.getLong(offset);
+        }
+    };
+
+    /**
+     * Returns the number of bytes every record takes.
+     *
+     * @return the width of a record in bytes
+     */
+    int width();
+
+    /**
+     * Writes value as a record starting at offset.
+     *
+     * @param value the value to encode, never null
+     * @param buffer the buffer to write to
+     * @param offset the index of the first byte of the record
+     */
+    void write(T value, ByteBuffer buffer, int offset);
+
+    /**
+     * Reads the record starting at offset.
+     *
+     * @param buffer the buffer to read from
+     * @param offset the index of the first byte of the record
+     * @return the decoded value
+     */
+    T read(ByteBuffer buffer, int offset);
+}
@@ -0,0 +1,162 @@
+import java.util.function.Consumer;
+
+/**
+ * A bounded, lock-free queue for exactly one producer thread and one
+ * consumer thread.
+ *
+ * Elements are kept in a ring like ArrayDeque's, but the capacity is a power
+ * of two so indices wrap with a mask, and instead of front and size the
+ * queue keeps two ever-increasing counters: the producer's tail and the
+ * consumer's head. Each counter is written only by its own thread, with a
+ * release write after the slot has been filled or cleared, so neither side
+ * ever locks or CASes. The counters are padded onto separate cache lines,
+ * and each side caches its last read of the other's counter so it only
+ * re-reads it when the ring looks full or empty.
+ *
+ * offer returns false instead of blocking when the queue is full, so the
+ * producer can back off.
+ *
+ * Using offer from more than one thread, or poll and drainTo from more than
+ * one thread, corrupts the queue; use MpmcArrayQueue for that.
+ *
+ * @author Madison Schlaff
+ * @version 1.0
+ *
+ */
+public class SpscArrayQueue<T> {
+
+    private final T[] buffer;
+    private final int mask;
+    private final PaddedSequence tail = new PaddedSequence();
+    private final PaddedSequence head = new PaddedSequence();
+
+    /**
+     * Constructs a new SpscArrayQueue that holds at least capacity elements.
+     * The capacity is rounded up to a power of two.
+     *
+     * @param capacity the minimum number of elements the queue can hold
+     * @throws java.lang.IllegalArgumentException if capacity is not positive
+     * or is more than 2^30
+     */
+    public SpscArrayQueue(int capacity) {
+        if (capacity <= 0 || capacity > (1 << 30)) {
+            throw new IllegalArgumentException("Capacity must be between 1 and 2^30.");
+        }
+        int length = capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+        buffer = (T[]) new Object[length];
+        mask = length - 1;
+    }
+
+    /**
+     * Adds the element to the back of the queue if there is room. Must only
+     * be called from the producer thread.
+     *
+     * @param data the data to add
+     * @return true if the element was added, false if the queue was full
+     * @throws java.lang.IllegalArgumentException if data is null
+     */
+    public boolean offer(T data) {
+        if (data == null) {
+            throw new IllegalArgumentException("Data can't be null.");
+        }
+        long index = tail.getPlain();
+        if (index - tail.cache >= buffer.length) {
+            // looks full, so see how far the consumer has got
+            tail.cache = head.getAcquire();
+            if (index - tail.cache >= buffer.length) {
+                return false;
+            }
+        }
+        buffer[(int) index & mask] = data;
+        tail.setRelease(index + 1);
+        return true;
+    }
+
+    /**
+     * Removes and returns the element at the front of the queue. Must only be
+     * called from the consumer thread.
+     *
+     * @return the removed element, or null if the queue was empty
+     */
+    public T poll() {
+        long index = head.getPlain();
+        if (index >= head.cache) {
+            // looks empty, so see how far the producer has got
+            head.cache = tail.getAcquire();
+            if (index >= head.cache) {
+                return null;
+            }
+        }
+        int slot = (int) index & mask;
+        T data = buffer[slot];
+        buffer[slot] = null;
+        head.setRelease(index + 1);
+        return data;
+    }
+
+    /**
+     * Removes up to limit elements from the front of the queue and passes
+     * them to action, in order. The producer's counter is read once and the
+     * consumer's is published once for the whole batch. Must only be called
+     * from the consumer thread.
+     *
+     * @param action receives each removed element
+     * @param limit the most elements to remove
+     * @return the number of elements removed
+     * @throws java.lang.IllegalArgumentException if action is null or limit
+     * is negative
+     */
+    public int drainTo(Consumer<? super T> action, int limit) {
+        if (action == null || limit < 0) {
+            throw new IllegalArgumentException("Action is null or limit is negative.");
+        }
+        long index = head.getPlain();
+        head.cache = tail.getAcquire();
+        int count = (int) Math.min(limit, head.cache - index);
+        int drained = 0;
+        try {
+            while (drained < count) {
+                int slot = (int) (index + drained) & mask;
+                T data = buffer[slot];
+                buffer[slot] = null;
+                drained += 1;
+                action.accept(data);
+            }
+        } finally {
+            // if action threw, the elements handed out so far stay removed
+            head.setRelease(index + drained);
+        }
+        return drained;
+    }
+
+    /**
+     * Returns the number of elements in the queue. Since the producer and
+     * consumer may be running, this is only a snapshot.
+     *
+     * @return the size of the queue
+     */
+    public int size() {
+        long consumed = head.getAcquire();
+        long produced = tail.getAcquire();
+        return (int) Math.max(0, Math.min(buffer.length, produced - consumed));
+    }
+
+    /**
+     * Returns whether or not the queue is empty. Like size, this is only a
+     * snapshot.
+     *
+     * @return true if empty, false otherwise
+     */
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Returns the number of elements the queue can hold.
+     *
+     * @return the capacity of the queue
+     */
+    public int capacity() {
+        return buffer.length;
+    }
+}
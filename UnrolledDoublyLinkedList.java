@@ -0,0 +1,434 @@
+import java.util.Arrays;
+
+/**
+ * A list with the same methods as DoublyLinkedList, stored as an unrolled
+ * linked list.
+ *
+ * Each node holds a chunk of up to UnrolledNode.CAPACITY elements rather
+ * than one, which cuts the per-element overhead to a few bytes and makes a
+ * traversal read arrays in order instead of chasing a pointer per element.
+ * Finding an index walks whole chunks, from whichever end is closer, so it
+ * takes about size / UnrolledNode.CAPACITY steps.
+ *
+ * Adding inside a full chunk splits it in two, and removing from a chunk
+ * merges it with a neighbour once the two would fit in half a chunk, so
+ * chunks stay reasonably full however the list is edited.
+ *
+ * @author Madison Schlaff
+ * @version 1.0
+ *
+ */
+public class UnrolledDoublyLinkedList<T> {
+
+    private UnrolledNode<T> head;
+    private UnrolledNode<T> tail;
+    private int size;
+
+    /**
+     * The slot, within the node last returned by find, of the element that
+     * was looked for.
+     */
+    private int foundSlot;
+
+    /**
+     * Adds the element to the specified index.
+     *
+     * Must be O(1) for indices 0 and size and O(n) for all other cases.
+     *
+     * @param index the index at which to add the new element
+     * @param data  the data to add at the specified index
+     * @throws java.lang.IndexOutOfBoundsException if index < 0 or index > size
+     * @throws java.lang.IllegalArgumentException  if data is null
+     */
+    public void addAtIndex(int index, T data) {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("Index selected is out of bounds.");
+        }
+        if (data == null) {
+            throw new IllegalArgumentException("Data cannot be null.");
+        }
+        if (index == 0) {
+            addToFront(data);
+        } else if (index == size) {
+            addToBack(data);
+        } else {
+            UnrolledNode<T> node = find(index);
+            insertAt(node, foundSlot, data);
+        }
+    }
+
+    /**
+     * Adds the element to the front of the list.
+     *
+     * Must be O(1).
+     *
+     * @param data the data to add to the front of the list
+     * @throws java.lang.IllegalArgumentException if data is null
+     */
+    public void addToFront(T data) {
+        if (data == null) {
+            throw new IllegalArgumentException("Data cannot be null.");
+        }
+        if (head == null) {
+            head = new UnrolledNode<>(UnrolledNode.CAPACITY / 2);
+            tail = head;
+        } else if (head.start == 0) {
+            UnrolledNode<T> node = new UnrolledNode<>(UnrolledNode.CAPACITY);
+            node.next = head;
+            head.previous = node;
+            head = node;
+        }
+        head.start -= 1;
+        head.elements[head.start] = data;
+        size += 1;
+    }
+
+    /**
+     * Adds the element to the back of the list.
+     *
+     * Must be O(1).
+     *
+     * @param data the data to add to the back of the list
+     * @throws java.lang.IllegalArgumentException if data is null
+     */
+    public void addToBack(T data) {
+        if (data == null) {
+            throw new IllegalArgumentException("Data cannot be null.");
+        }
+        if (tail == null) {
+            tail = new UnrolledNode<>(UnrolledNode.CAPACITY / 2);
+            head = tail;
+        } else if (tail.end == UnrolledNode.CAPACITY) {
+            UnrolledNode<T> node = new UnrolledNode<>(0);
+            node.previous = tail;
+            tail.next = node;
+            tail = node;
+        }
+        tail.elements[tail.end] = data;
+        tail.end += 1;
+        size += 1;
+    }
+
+    /**
+     * Removes and returns the element at the specified index.
+     *
+     * Must be O(1) for indices 0 and size - 1 and O(n) for all other cases.
+     *
+     * @param index the index of the element to remove
+     * @return the data formerly located at the specified index
+     * @throws java.lang.IndexOutOfBoundsException if index < 0 or index >= size
+     */
+    public T removeAtIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index selected is out of bounds.");
+        }
+        UnrolledNode<T> node = find(index);
+        return removeAt(node, foundSlot);
+    }
+
+    /**
+     * Removes and returns the first element of the list.
+     *
+     * Must be O(1).
+     *
+     * @return the data formerly located at the front of the list
+     * @throws java.util.NoSuchElementException if the list is empty
+     */
+    public T removeFromFront() {
+        if (isEmpty()) {
+            throw new java.util.NoSuchElementException("The list is empty.");
+        }
+        return removeAt(head, head.start);
+    }
+
+    /**
+     * Removes and returns the last element of the list.
+     *
+     * Must be O(1).
+     *
+     * @return the data formerly located at the back of the list
+     * @throws java.util.NoSuchElementException if the list is empty
+     */
+    public T removeFromBack() {
+        if (isEmpty()) {
+            throw new java.util.NoSuchElementException("The list is empty.");
+        }
+        return removeAt(tail, tail.end - 1);
+    }
+
+    /**
+     * Returns the element at the specified index.
+     *
+     * Must be O(1) for indices 0 and size - 1 and O(n) for all other cases.
+     *
+     * @param index the index of the element to get
+     * @return the data stored at the index in the list
+     * @throws java.lang.IndexOutOfBoundsException if index < 0 or index >= size
+     */
+    public T get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index selected is out of bounds.");
+        }
+        UnrolledNode<T> node = find(index);
+        return node.elements[foundSlot];
+    }
+
+    /**
+     * Returns whether or not the list is empty.
+     *
+     * Must be O(1).
+     *
+     * @return true if empty, false otherwise
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Clears the list.
+     *
+     * Clears all data and resets the size.
+     *
+     * Must be O(1).
+     */
+    public void clear() {
+        head = null;
+        tail = null;
+        size = 0;
+    }
+
+    /**
+     * Removes and returns the last copy of the given data from the list.
+     *
+     * Must be O(1) if data is in the tail and O(n) for all other cases.
+     *
+     * @param data the data to be removed from the list
+     * @return the data that was removed
+     * @throws java.lang.IllegalArgumentException if data is null
+     * @throws java.util.NoSuchElementException   if data is not found
+     */
+    public T removeLastOccurrence(T data) {
+        if (data == null) {
+            throw new IllegalArgumentException("Data can't be null.");
+        }
+        for (UnrolledNode<T> node = tail; node != null; node = node.previous) {
+            for (int slot = node.end - 1; slot >= node.start; slot--) {
+                if (node.elements[slot].equals(data)) {
+                    return removeAt(node, slot);
+                }
+            }
+        }
+        throw new java.util.NoSuchElementException("Data was not in the list.");
+    }
+
+    /**
+     * Returns an array representation of the list, copying each chunk in
+     * bulk. If the list is size 0, return an empty array.
+     *
+     * Must be O(n) for all cases.
+     *
+     * @return an array of length size holding all of the objects in the
+     * list in the same order
+     */
+    public Object[] toArray() {
+        Object[] arr = new Object[size];
+        int copied = 0;
+        for (UnrolledNode<T> node = head; node != null; node = node.next) {
+            System.arraycopy(node.elements, node.start, arr, copied, node.size());
+            copied += node.size();
+        }
+        return arr;
+    }
+
+    /**
+     * Returns the size of the list.
+     *
+     * @return the size of the list
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the node holding the element at index, walking whole nodes
+     * from the head or the tail, whichever is closer, and sets foundSlot to
+     * the element's slot in that node.
+     *
+     * @param index the index of the element, between 0 and size - 1
+     * @return the node holding the element
+     */
+    private UnrolledNode<T> find(int index) {
+        UnrolledNode<T> node;
+        if (index < size / 2) {
+            node = head;
+            int remaining = index;
+            while (remaining >= node.size()) {
+                remaining -= node.size();
+                node = node.next;
+            }
+            foundSlot = node.start + remaining;
+        } else {
+            node = tail;
+            int remaining = size - 1 - index;
+            while (remaining >= node.size()) {
+                remaining -= node.size();
+                node = node.previous;
+            }
+            foundSlot = node.end - 1 - remaining;
+        }
+        return node;
+    }
+
+    /**
+     * Inserts data into node so that it lands just before the element now in
+     * slot, splitting the node first if it is full. Within the node, the
+     * elements on whichever side of slot are fewer, and have room, are
+     * shifted over by one.
+     *
+     * @param node the node to insert into
+     * @param slot the slot the new element should take, from node.start to
+     * node.end
+     * @param data the data to insert
+     */
+    private void insertAt(UnrolledNode<T> node, int slot, T data) {
+        if (node.size() == UnrolledNode.CAPACITY) {
+            UnrolledNode<T> right = split(node);
+            if (slot > node.end) {
+                slot -= node.end;
+                node = right;
+            }
+        }
+        T[] elements = node.elements;
+        int before = slot - node.start;
+        int after = node.end - slot;
+        if (node.start > 0 && (before <= after || node.end == UnrolledNode.CAPACITY)) {
+            System.arraycopy(elements, node.start, elements, node.start - 1, before);
+            node.start -= 1;
+            elements[slot - 1] = data;
+        } else {
+            System.arraycopy(elements, slot, elements, slot + 1, after);
+            node.end += 1;
+            elements[slot] = data;
+        }
+        size += 1;
+    }
+
+    /**
+     * Moves the back half of a full node into a new node linked right after
+     * it. Both halves then start at slot 0.
+     *
+     * @param node the full node to split
+     * @return the new node holding the back half
+     */
+    private UnrolledNode<T> split(UnrolledNode<T> node) {
+        int half = UnrolledNode.CAPACITY / 2;
+        UnrolledNode<T> right = new UnrolledNode<>(0);
+        System.arraycopy(node.elements, half, right.elements, 0, half);
+        Arrays.fill(node.elements, half, UnrolledNode.CAPACITY, null);
+        node.end = half;
+        right.end = half;
+        linkAfter(node, right);
+        return right;
+    }
+
+    /**
+     * Removes and returns the element in slot of node, shifting whichever
+     * side of it is smaller to close the hole. An emptied node is unlinked,
+     * and one left sparse is merged with a neighbour.
+     *
+     * @param node the node holding the element
+     * @param slot the element's slot in node
+     * @return the removed element
+     */
+    private T removeAt(UnrolledNode<T> node, int slot) {
+        T[] elements = node.elements;
+        T removed = elements[slot];
+        int before = slot - node.start;
+        int after = node.end - slot - 1;
+        if (before < after) {
+            System.arraycopy(elements, node.start, elements, node.start + 1, before);
+            elements[node.start] = null;
+            node.start += 1;
+        } else {
+            System.arraycopy(elements, slot + 1, elements, slot, after);
+            node.end -= 1;
+            elements[node.end] = null;
+        }
+        size -= 1;
+        if (node.size() == 0) {
+            unlink(node);
+        } else if (!mergeNext(node) && node.previous != null) {
+            mergeNext(node.previous);
+        }
+        return removed;
+    }
+
+    /**
+     * Moves every element of node.next into node and unlinks node.next, if
+     * the two together fit in half a node. The elements of node are first
+     * moved to the front of its chunk if there isn't room after them.
+     *
+     * @param node the node to merge its successor into
+     * @return true if the nodes were merged, false otherwise
+     */
+    private boolean mergeNext(UnrolledNode<T> node) {
+        UnrolledNode<T> next = node.next;
+        if (next == null || node.size() + next.size() > UnrolledNode.CAPACITY / 2) {
+            return false;
+        }
+        T[] elements = node.elements;
+        if (node.end + next.size() > UnrolledNode.CAPACITY) {
+            int count = node.size();
+            System.arraycopy(elements, node.start, elements, 0, count);
+            Arrays.fill(elements, Math.max(count, node.start), node.end, null);
+            node.start = 0;
+            node.end = count;
+        }
+        System.arraycopy(next.elements, next.start, elements, node.end, next.size());
+        node.end += next.size();
+        unlink(next);
+        return true;
+    }
+
+    /**
+     * Links node into the list right after previous.
+     *
+     * @param previous the node to link after
+     * @param node the node to link
+     */
+    private void linkAfter(UnrolledNode<T> previous, UnrolledNode<T> node) {
+        node.previous = previous;
+        node.next = previous.next;
+        if (previous.next == null) {
+            tail = node;
+        } else {
+            previous.next.previous = node;
+        }
+        previous.next = node;
+    }
+
+    /**
+     * Unlinks node from the list. The last node is kept instead, with its
+     * offsets moved back to the middle, so a list that keeps emptying and
+     * refilling doesn't allocate a node each time.
+     *
+     * @param node the node to unlink
+     */
+    private void unlink(UnrolledNode<T> node) {
+        if (head == tail) {
+            node.start = UnrolledNode.CAPACITY / 2;
+            node.end = node.start;
+            return;
+        }
+        if (node.previous == null) {
+            head = node.next;
+        } else {
+            node.previous.next = node.next;
+        }
+        if (node.next == null) {
+            tail = node.previous;
+        } else {
+            node.next.previous = node.previous;
+        }
+    }
+}
@@ -0,0 +1,196 @@
+/**
+ * A deque with the same methods as LinkedDeque, stored as an unrolled linked
+ * list.
+ *
+ * Each node holds a chunk of up to UnrolledNode.CAPACITY elements rather
+ * than one, so a full deque spends a few bytes of overhead per element
+ * instead of a whole node object with two links, and consecutive elements
+ * sit next to each other in memory. The head node fills from the back of its
+ * chunk towards the front and the tail node from the front towards the back,
+ * so every operation is still O(1) without shifting.
+ *
+ * @author Madison Schlaff
+ * @version 1.0
+ *
+ */
+public class UnrolledLinkedDeque<T> {
+
+    private UnrolledNode<T> head;
+    private UnrolledNode<T> tail;
+    private int size;
+
+    /**
+     * Adds the element to the front of the deque.
+     *
+     * Must be O(1).
+     *
+     * @param data the data to add to the front of the deque
+     * @throws java.lang.IllegalArgumentException if data is null
+     */
+    public void addFirst(T data) {
+        if (data == null) {
+            throw new IllegalArgumentException("Data is null. Can't add first.");
+        }
+        if (head == null) {
+            head = new UnrolledNode<>(UnrolledNode.CAPACITY / 2);
+            tail = head;
+        } else if (head.start == 0) {
+            UnrolledNode<T> node = new UnrolledNode<>(UnrolledNode.CAPACITY);
+            node.next = head;
+            head.previous = node;
+            head = node;
+        }
+        head.start -= 1;
+        head.elements[head.start] = data;
+        size += 1;
+    }
+
+    /**
+     * Adds the element to the back of the deque.
+     *
+     * Must be O(1).
+     *
+     * @param data the data to add to the back of the deque
+     * @throws java.lang.IllegalArgumentException if data is null
+     */
+    public void addLast(T data) {
+        if (data == null) {
+            throw new IllegalArgumentException("Data is null. Can't add last.");
+        }
+        if (tail == null) {
+            tail = new UnrolledNode<>(UnrolledNode.CAPACITY / 2);
+            head = tail;
+        } else if (tail.end == UnrolledNode.CAPACITY) {
+            UnrolledNode<T> node = new UnrolledNode<>(0);
+            node.previous = tail;
+            tail.next = node;
+            tail = node;
+        }
+        tail.elements[tail.end] = data;
+        tail.end += 1;
+        size += 1;
+    }
+
+    /**
+     * Removes and returns the first element of the deque.
+     *
+     * Must be O(1).
+     *
+     * @return the data formerly located at the front of the deque
+     * @throws java.util.NoSuchElementException if the deque is empty
+     */
+    public T removeFirst() {
+        if (isEmpty()) {
+            throw new java.util.NoSuchElementException("The deque is empty. Can't remove first.");
+        }
+        T removed = head.elements[head.start];
+        head.elements[head.start] = null;
+        head.start += 1;
+        size -= 1;
+        if (head.size() == 0) {
+            if (head == tail) {
+                recenter();
+            } else {
+                head = head.next;
+                head.previous = null;
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * Removes and returns the last element of the deque.
+     *
+     * Must be O(1).
+     *
+     * @return the data formerly located at the back of the deque
+     * @throws java.util.NoSuchElementException if the deque is empty
+     */
+    public T removeLast() {
+        if (isEmpty()) {
+            throw new java.util.NoSuchElementException("The deque is empty. Can't remove last.");
+        }
+        tail.end -= 1;
+        T removed = tail.elements[tail.end];
+        tail.elements[tail.end] = null;
+        size -= 1;
+        if (tail.size() == 0) {
+            if (head == tail) {
+                recenter();
+            } else {
+                tail = tail.previous;
+                tail.next = null;
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * Returns the first data of the deque without removing it.
+     *
+     * Must be O(1).
+     *
+     * @return the data located at the front of the deque
+     * @throws java.util.NoSuchElementException if the deque is empty
+     */
+    public T getFirst() {
+        if (isEmpty()) {
+            throw new java.util.NoSuchElementException("The deque is empty. Can't get first.");
+        }
+        return head.elements[head.start];
+    }
+
+    /**
+     * Returns the last data of the deque without removing it.
+     *
+     * Must be O(1).
+     *
+     * @return the data located at the back of the deque
+     * @throws java.util.NoSuchElementException if the deque is empty
+     */
+    public T getLast() {
+        if (isEmpty()) {
+            throw new java.util.NoSuchElementException("The deque is empty. Can't get last.");
+        }
+        return tail.elements[tail.end - 1];
+    }
+
+    /**
+     * Clears the deque.
+     *
+     * Must be O(1).
+     */
+    public void clear() {
+        head = null;
+        tail = null;
+        size = 0;
+    }
+
+    /**
+     * Returns the size of the deque.
+     *
+     * @return the size of the deque
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns whether or not the deque is empty.
+     *
+     * @return true if empty, false otherwise
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Keeps the last, now empty, node but moves its offsets back to the
+     * middle, so a deque that keeps emptying and refilling doesn't allocate
+     * a node each time and has room to grow at both ends.
+     */
+    private void recenter() {
+        head.start = UnrolledNode.CAPACITY / 2;
+        head.end = head.start;
+    }
+}
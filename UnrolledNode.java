@@ -0,0 +1,48 @@
+/**
+ * A node of UnrolledLinkedDeque and UnrolledDoublyLinkedList. Instead of one
+ * element it holds up to CAPACITY consecutive elements in an array chunk, so
+ * the node header and links are shared by the whole chunk and walking the
+ * elements reads one array in order.
+ *
+ * The elements occupy elements[start] through elements[end - 1], so a node
+ * can grow at either end without shifting. Every slot outside that range is
+ * null.
+ *
+ * @author Madison Schlaff
+ * @version 1.0
+ *
+ */
+final class UnrolledNode<T> {
+
+    /**
+     * The number of elements a node can hold.
+     */
+    static final int CAPACITY = 64;
+
+    final T[] elements = (T[]) new Object[CAPACITY];
+    int start;
+    int end;
+    UnrolledNode<T> previous;
+    UnrolledNode<T> next;
+
+    /**
+     * Constructs a new, empty UnrolledNode whose elements will start at
+     * offset: 0 for a node that fills towards the back, CAPACITY for one that
+     * fills towards the front.
+     *
+     * @param offset the slot the first element will be added next to
+     */
+    UnrolledNode(int offset) {
+        start = offset;
+        end = offset;
+    }
+
+    /**
+     * Returns the number of elements in the node.
+     *
+     * @return the size of the node
+     */
+    int size() {
+        return end - start;
+    }
+}
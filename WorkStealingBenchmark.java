@@ -0,0 +1,107 @@
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Compares the recursive task throughput of WorkStealingScheduler with
+ * ForkJoinPool by computing fib(n) with one task per call, so nearly all of
+ * the time goes to forking, running and joining tiny tasks. Each scheduler
+ * runs a few rounds so the later rounds are JIT-compiled.
+ *
+ * Run with: java WorkStealingBenchmark [n [parallelism]]
+ *
+ * @author Madison Schlaff
+ * @version 1.0
+ *
+ */
+public class WorkStealingBenchmark {
+
+    private static final int ROUNDS = 5;
+
+    /**
+     * Prints the time each round of fib(n) takes on each scheduler.
+     *
+     * @param args n, 27 if not given, and the number of workers, 4 if not
+     * given
+     */
+    public static void main(String[] args) {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 27;
+        int parallelism = args.length > 1 ? Integer.parseInt(args[1]) : 4;
+        System.out.println("fib(" + n + ") with " + parallelism + " workers on "
+                + Runtime.getRuntime().availableProcessors() + " available processors");
+        try (WorkStealingScheduler scheduler = new WorkStealingScheduler(parallelism)) {
+            ForkJoinPool pool = new ForkJoinPool(parallelism);
+            for (int round = 1; round <= ROUNDS; round++) {
+                long start = System.nanoTime();
+                int expected = scheduler.invoke(new SchedulerFib(n));
+                long schedulerNanos = System.nanoTime() - start;
+                start = System.nanoTime();
+                int actual = pool.invoke(new PoolFib(n));
+                long poolNanos = System.nanoTime() - start;
+                if (expected != actual) {
+                    throw new IllegalStateException("The schedulers disagree on fib(" + n + ").");
+                }
+                System.out.println("round " + round + ": " + schedulerNanos / 1000000
+                        + " ms WorkStealingScheduler, " + poolNanos / 1000000 + " ms ForkJoinPool");
+            }
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * fib(n) as a WorkStealingScheduler task.
+     */
+    private static final class SchedulerFib extends WorkStealingScheduler.Task<Integer> {
+
+        private final int n;
+
+        /**
+         * Constructs a new SchedulerFib.
+         *
+         * @param n which Fibonacci number to compute
+         */
+        private SchedulerFib(int n) {
+            this.n = n;
+        }
+
+        @Override
+        protected Integer compute() {
+            if (n < 2) {
+                return n;
+            }
+            SchedulerFib first = new SchedulerFib(n - 1);
+            first.fork();
+            int second = new SchedulerFib(n - 2).compute();
+            return first.join() + second;
+        }
+    }
+
+    /**
+     * fib(n) as a ForkJoinPool task.
+     */
+    private static final class PoolFib extends RecursiveTask<Integer> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int n;
+
+        /**
+         * Constructs a new PoolFib.
+         *
+         * @param n which Fibonacci number to compute
+         */
+        private PoolFib(int n) {
+            this.n = n;
+        }
+
+        @Override
+        protected Integer compute() {
+            if (n < 2) {
+                return n;
+            }
+            PoolFib first = new PoolFib(n - 1);
+            first.fork();
+            int second = new PoolFib(n - 2).compute();
+            return first.join() + second;
+        }
+    }
+}
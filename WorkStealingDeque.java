@@ -0,0 +1,176 @@
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+/**
+ * A Chase-Lev work-stealing deque. One thread, the owner, pushes and pops at
+ * the bottom without locking, and any number of other threads, thieves,
+ * steal from the top with a CAS.
+ *
+ * The elements are kept in a growable ring like ArrayDeque's power-of-two
+ * mode, indexed by two ever-increasing counters: top, the next element a
+ * thief takes, and bottom, the slot the owner pushes to next. The owner and
+ * the thieves only contend when the deque is down to its last element; then
+ * both race to advance top with a CAS, and only the winner takes it. top and
+ * bottom are padded onto separate cache lines.
+ *
+ * When the ring is full the owner copies the elements into one twice as
+ * large and publishes it; thieves still reading the old ring find the same
+ * elements there, so nothing waits for them.
+ *
+ * push and pop must only be called from the owner thread.
+ *
+ * @author Madison Schlaff
+ * @version 1.0
+ *
+ */
+public class WorkStealingDeque<T> {
+
+    /**
+     * The initial capacity of the WorkStealingDeque.
+     */
+    public static final int INITIAL_CAPACITY = 16;
+
+    private static final VarHandle SLOTS = MethodHandles.arrayElementVarHandle(Object[].class);
+
+    private final PaddedSequence top = new PaddedSequence();
+    private final PaddedSequence bottom = new PaddedSequence();
+    private volatile Object[] array = new Object[INITIAL_CAPACITY];
+
+    /**
+     * Adds the element to the bottom of the deque, growing the ring if it is
+     * full. Must only be called from the owner thread.
+     *
+     * Must be amortized O(1).
+     *
+     * @param data the data to add
+     * @throws java.lang.IllegalArgumentException if data is null
+     */
+    public void push(T data) {
+        if (data == null) {
+            throw new IllegalArgumentException("Data can't be null.");
+        }
+        long b = bottom.getPlain();
+        long t = top.getAcquire();
+        Object[] a = array;
+        if (b - t >= a.length) {
+            a = grow(a, t, b);
+        }
+        a[(int) b & (a.length - 1)] = data;
+        // publishes the element to thieves that read the new bottom
+        bottom.setRelease(b + 1);
+    }
+
+    /**
+     * Removes and returns the element at the bottom of the deque, the one
+     * most recently pushed. Must only be called from the owner thread.
+     *
+     * Must be O(1).
+     *
+     * @return the removed element, or null if the deque was empty or a
+     * thief took the last element first
+     */
+    public T pop() {
+        long b = bottom.getPlain() - 1;
+        Object[] a = array;
+        bottom.setRelease(b);
+        // the new bottom must be visible before top is read, or a thief and
+        // the owner could both take the last element
+        VarHandle.fullFence();
+        long t = top.getAcquire();
+        if (t > b) {
+            bottom.setRelease(b + 1);
+            return null;
+        }
+        int slot = (int) b & (a.length - 1);
+        T data = (T) a[slot];
+        if (t == b) {
+            // the last element, so race the thieves for it
+            boolean won = top.compareAndSet(t, t + 1);
+            bottom.setRelease(b + 1);
+            if (!won) {
+                return null;
+            }
+        }
+        a[slot] = null;
+        return data;
+    }
+
+    /**
+     * Removes and returns the element at the top of the deque, the one
+     * pushed longest ago. May be called from any thread.
+     *
+     * Must be O(1).
+     *
+     * Once the CAS on top wins the element, its slot is cleared with a
+     * second CAS, as ForkJoinPool does, so the deque doesn't keep stolen
+     * elements reachable. The CAS only clears the slot if it still holds the
+     * element: the owner may already have wrapped around and pushed a new
+     * one there. That new one is only lost if it is the very same object,
+     * pushed again while this steal is still running.
+     *
+     * @return the removed element, or null if the deque was empty or another
+     * thread took the element first
+     */
+    public T steal() {
+        long t = top.getAcquire();
+        VarHandle.fullFence();
+        long b = bottom.getAcquire();
+        if (t >= b) {
+            return null;
+        }
+        Object[] a = array;
+        int slot = (int) t & (a.length - 1);
+        T data = (T) SLOTS.getAcquire(a, slot);
+        if (!top.compareAndSet(t, t + 1)) {
+            return null;
+        }
+        SLOTS.compareAndSet(a, slot, data, null);
+        Object[] current = array;
+        if (current != a) {
+            // the owner grew the ring meanwhile and copied the element over
+            SLOTS.compareAndSet(current, (int) t & (current.length - 1), data, null);
+        }
+        return data;
+    }
+
+    /**
+     * Returns the number of elements in the deque. Since other threads may
+     * be stealing, this is only a snapshot.
+     *
+     * @return the size of the deque
+     */
+    public int size() {
+        long b = bottom.getAcquire();
+        long t = top.getAcquire();
+        return (int) Math.max(0, b - t);
+    }
+
+    /**
+     * Returns whether or not the deque is empty. Like size, this is only a
+     * snapshot.
+     *
+     * @return true if empty, false otherwise
+     */
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Copies the elements from top to bottom into a ring twice as large and
+     * publishes it. Each element keeps its counter, so it lands at that
+     * counter masked by the new length rather than at the start.
+     *
+     * @param old the current ring
+     * @param t the top counter
+     * @param b the bottom counter
+     * @return the new ring
+     */
+    private Object[] grow(Object[] old, long t, long b) {
+        Object[] a = new Object[old.length * 2];
+        for (long i = t; i < b; i++) {
+            a[(int) i & (a.length - 1)] = old[(int) i & (old.length - 1)];
+        }
+        array = a;
+        return a;
+    }
+}
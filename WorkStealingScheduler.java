@@ -0,0 +1,321 @@
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * A small fork-join scheduler for fine-grained recursive tasks.
+ *
+ * Each worker thread owns a WorkStealingDeque. A task forked on a worker is
+ * pushed to that worker's deque, and the worker pops its own newest task
+ * first, so a recursive computation mostly runs depth-first on one thread
+ * without any locking. A worker with an empty deque steals the oldest task
+ * from another worker, which tends to be the largest piece of work left.
+ * Tasks submitted from outside the scheduler go through a shared
+ * BlockingArrayDeque, which idle workers also wait on.
+ *
+ * A worker joining a task that isn't done yet runs other tasks in the
+ * meantime, its own first and then stolen ones, instead of blocking.
+ *
+ * @author Madison Schlaff
+ * @version 1.0
+ *
+ */
+public class WorkStealingScheduler implements AutoCloseable {
+
+    /**
+     * How many times an idle worker yields before it waits on the shared
+     * submission deque.
+     */
+    private static final int IDLE_SPINS = 64;
+
+    /**
+     * How long an idle worker waits on the submission deque before it looks
+     * for work to steal again.
+     */
+    private static final long IDLE_WAIT_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final Worker[] workers;
+    private final BlockingArrayDeque<Task<?>> submissions = new BlockingArrayDeque<>();
+    private volatile boolean shutdown;
+
+    /**
+     * Constructs a new WorkStealingScheduler and starts its worker threads.
+     *
+     * @param parallelism the number of worker threads
+     * @throws java.lang.IllegalArgumentException if parallelism is not
+     * positive
+     */
+    public WorkStealingScheduler(int parallelism) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("Parallelism must be positive.");
+        }
+        workers = new Worker[parallelism];
+        for (int i = 0; i < parallelism; i++) {
+            workers[i] = new Worker(this, i);
+        }
+        for (Worker worker : workers) {
+            worker.start();
+        }
+    }
+
+    /**
+     * Schedules the task to run. From one of this scheduler's workers it is
+     * pushed to that worker's deque; from any other thread it goes to the
+     * shared submission deque.
+     *
+     * @param task the task to run
+     * @throws java.lang.IllegalArgumentException if task is null
+     * @throws java.lang.IllegalStateException if the scheduler is closed
+     */
+    public void submit(Task<?> task) {
+        if (task == null) {
+            throw new IllegalArgumentException("Task can't be null.");
+        }
+        if (shutdown) {
+            throw new IllegalStateException("Scheduler is closed.");
+        }
+        Worker worker = currentWorker();
+        if (worker != null && worker.scheduler == this) {
+            worker.deque.push(task);
+        } else {
+            submissions.offerLast(task);
+        }
+    }
+
+    /**
+     * Runs the task on this scheduler and returns its result, waiting for it
+     * to finish.
+     *
+     * @param task the task to run
+     * @param <V> the type of the task's result
+     * @return the result of the task
+     * @throws java.lang.IllegalArgumentException if task is null
+     * @throws java.lang.IllegalStateException if the scheduler is closed
+     */
+    public <V> V invoke(Task<V> task) {
+        submit(task);
+        return task.join();
+    }
+
+    /**
+     * Returns the number of worker threads.
+     *
+     * @return the parallelism of the scheduler
+     */
+    public int getParallelism() {
+        return workers.length;
+    }
+
+    /**
+     * Stops the worker threads and waits for them to exit. Tasks that have
+     * not started by then never run, so this should only be called once
+     * every invoked task has returned.
+     */
+    @Override
+    public void close() {
+        shutdown = true;
+        boolean interrupted = false;
+        for (Worker worker : workers) {
+            while (worker.isAlive()) {
+                try {
+                    worker.join();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Tries to steal a task from every worker other than thief, starting
+     * from a random one so thieves spread out over the victims.
+     *
+     * @param thief the worker looking for work
+     * @return a stolen task, or null if none was found
+     */
+    private Task<?> steal(Worker thief) {
+        int start = ThreadLocalRandom.current().nextInt(workers.length);
+        for (int i = 0; i < workers.length; i++) {
+            Worker victim = workers[(start + i) % workers.length];
+            if (victim != thief) {
+                Task<?> task = victim.deque.steal();
+                if (task != null) {
+                    return task;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the worker running the current thread, if any.
+     *
+     * @return the current worker, or null if called from another thread
+     */
+    private static Worker currentWorker() {
+        Thread thread = Thread.currentThread();
+        return thread instanceof Worker ? (Worker) thread : null;
+    }
+
+    /**
+     * A unit of work that can fork subtasks and join them, like
+     * java.util.concurrent.RecursiveTask.
+     *
+     * @param <V> the type of the task's result
+     */
+    public abstract static class Task<V> {
+
+        private static final int PENDING = 0;
+        private static final int NORMAL = 1;
+        private static final int EXCEPTIONAL = 2;
+
+        private volatile int status;
+        private V result;
+        private Throwable exception;
+        private volatile Thread waiter;
+
+        /**
+         * Does the task's work, forking and joining subtasks as needed.
+         *
+         * @return the result of the task
+         */
+        protected abstract V compute();
+
+        /**
+         * Schedules this task to run on the current worker's deque, where it
+         * may be stolen by another worker.
+         *
+         * @return this task
+         * @throws java.lang.IllegalStateException if not called from a
+         * worker thread
+         */
+        public final Task<V> fork() {
+            Worker worker = currentWorker();
+            if (worker == null) {
+                throw new IllegalStateException("Fork must be called from a worker thread.");
+            }
+            worker.deque.push(this);
+            return this;
+        }
+
+        /**
+         * Returns the result of the task once it is done. A worker runs
+         * other tasks while it waits; any other thread parks.
+         *
+         * @return the result of the task
+         * @throws java.lang.RuntimeException if compute threw one, rethrown
+         * here
+         */
+        public final V join() {
+            Worker worker = currentWorker();
+            if (worker != null) {
+                while (status == PENDING) {
+                    Task<?> task = worker.deque.pop();
+                    if (task == null) {
+                        task = worker.scheduler.steal(worker);
+                    }
+                    if (task != null) {
+                        task.run();
+                    } else {
+                        Thread.onSpinWait();
+                    }
+                }
+            } else {
+                waiter = Thread.currentThread();
+                while (status == PENDING) {
+                    // the timeout covers a second outside joiner replacing
+                    // this one as the waiter
+                    LockSupport.parkNanos(this, IDLE_WAIT_NANOS);
+                }
+            }
+            if (status == EXCEPTIONAL) {
+                if (exception instanceof Error) {
+                    throw (Error) exception;
+                }
+                throw (RuntimeException) exception;
+            }
+            return result;
+        }
+
+        /**
+         * Returns whether or not the task has finished, normally or by
+         * throwing.
+         *
+         * @return true if done, false otherwise
+         */
+        public final boolean isDone() {
+            return status != PENDING;
+        }
+
+        /**
+         * Runs compute, records how it finished and wakes an outside
+         * joiner. A task reaches run at most once, since only one thread
+         * can take it off a deque.
+         */
+        final void run() {
+            try {
+                result = compute();
+                status = NORMAL;
+            } catch (RuntimeException | Error e) {
+                exception = e;
+                status = EXCEPTIONAL;
+            }
+            Thread joiner = waiter;
+            if (joiner != null) {
+                LockSupport.unpark(joiner);
+            }
+        }
+    }
+
+    /**
+     * A worker thread, which runs its own tasks, steals when it has none,
+     * and waits on the submission deque when there is nothing to steal.
+     */
+    private static final class Worker extends Thread {
+
+        private final WorkStealingScheduler scheduler;
+        private final WorkStealingDeque<Task<?>> deque = new WorkStealingDeque<>();
+
+        /**
+         * Constructs a new daemon Worker for scheduler.
+         *
+         * @param scheduler the scheduler the worker belongs to
+         * @param index the worker's index, used in its name
+         */
+        private Worker(WorkStealingScheduler scheduler, int index) {
+            super("WorkStealingScheduler-worker-" + index);
+            this.scheduler = scheduler;
+            setDaemon(true);
+        }
+
+        @Override
+        public void run() {
+            int idle = 0;
+            while (!scheduler.shutdown) {
+                Task<?> task = deque.pop();
+                if (task == null) {
+                    task = scheduler.steal(this);
+                }
+                if (task == null) {
+                    task = scheduler.submissions.pollFirst();
+                }
+                if (task == null && ++idle > IDLE_SPINS) {
+                    try {
+                        task = scheduler.submissions.pollFirst(IDLE_WAIT_NANOS, TimeUnit.NANOSECONDS);
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+                if (task != null) {
+                    idle = 0;
+                    task.run();
+                } else if (idle <= IDLE_SPINS) {
+                    Thread.yield();
+                }
+            }
+        }
+    }
+}